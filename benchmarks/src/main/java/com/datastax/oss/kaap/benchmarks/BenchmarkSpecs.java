@@ -0,0 +1,88 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+
+/**
+ * Cluster specs used by the benchmarks. The spec sizes are selected by the "sets" parameter: the broker,
+ * bookkeeper and proxy components get that number of sets.
+ */
+final class BenchmarkSpecs {
+
+    static final String NAMESPACE = "ns";
+
+    private BenchmarkSpecs() {
+    }
+
+    /**
+     * Cluster spec as it comes from the API server, without defaults.
+     */
+    static PulsarClusterSpec newClusterSpec(int sets) {
+        final StringBuilder yaml = new StringBuilder("""
+                global:
+                    name: pulsar
+                    image: apachepulsar/pulsar:3.0
+                    auth:
+                        enabled: true
+                zookeeper:
+                    replicas: 3
+                bookkeeper:
+                    config:
+                        journalMaxSizeMB: 2048
+                    sets:
+                """);
+        appendSets(yaml, "bk", sets);
+        yaml.append("""
+                broker:
+                    config:
+                        managedLedgerDefaultEnsembleSize: 2
+                        managedLedgerDefaultWriteQuorum: 2
+                    resources:
+                        requests:
+                            cpu: 500m
+                            memory: 1Gi
+                    sets:
+                """);
+        appendSets(yaml, "broker", sets);
+        yaml.append("""
+                proxy:
+                    sets:
+                """);
+        appendSets(yaml, "proxy", sets);
+        return SerializationUtil.readYaml(yaml.toString(), PulsarClusterSpec.class);
+    }
+
+    /**
+     * Cluster spec with defaults, as seen by the controllers.
+     */
+    static PulsarClusterSpec newDefaultedClusterSpec(int sets) {
+        final PulsarClusterSpec spec = newClusterSpec(sets);
+        spec.getGlobal().applyDefaults(null);
+        spec.applyDefaults(spec.getGlobal());
+        return spec;
+    }
+
+    private static void appendSets(StringBuilder yaml, String prefix, int sets) {
+        for (int i = 0; i < sets; i++) {
+            yaml.append("        ").append(prefix).append("-set").append(i).append(":\n")
+                    .append("            replicas: ").append(i % 3 + 1).append("\n")
+                    .append("            podAnnotations:\n")
+                    .append("                set: ").append(prefix).append(i).append("\n");
+        }
+    }
+}
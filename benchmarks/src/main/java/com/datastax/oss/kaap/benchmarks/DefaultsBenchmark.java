@@ -0,0 +1,128 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperController;
+import com.datastax.oss.kaap.controllers.broker.BrokerController;
+import com.datastax.oss.kaap.controllers.utils.DefaultedSpecsCache;
+import com.datastax.oss.kaap.crds.ConfigUtil;
+import com.datastax.oss.kaap.crds.FullSpecWithDefaults;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSetSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSpec;
+import com.datastax.oss.kaap.crds.cluster.PulsarCluster;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Defaulting done on every reconciliation.
+ * Applying the defaults modifies the spec, so the benchmarks on the raw specs copy them first: subtract
+ * {@link #copyRawSpec()} to get the cost of the defaulting alone.
+ * {@link #cachedDefaultedSpec()} is the path taken by the reconciliations of an already defaulted generation,
+ * it doesn't modify the raw spec so it doesn't need the copy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefaultsBenchmark {
+
+    @Param({"1", "10", "50"})
+    int sets;
+
+    private PulsarClusterSpec rawSpec;
+    private PulsarClusterSpec spec;
+    private PulsarCluster cluster;
+
+    @Setup
+    public void setup() {
+        rawSpec = BenchmarkSpecs.newClusterSpec(sets);
+        spec = BenchmarkSpecs.newDefaultedClusterSpec(sets);
+        cluster = new PulsarCluster();
+        cluster.setMetadata(new ObjectMetaBuilder()
+                .withUid(UUID.randomUUID().toString())
+                .withGeneration(1L)
+                .build());
+        cluster.setSpec(SerializationUtil.deepCloneObject(rawSpec));
+        DefaultedSpecsCache.applyDefaults(cluster, DefaultsBenchmark::applyDefaults);
+    }
+
+    private static void applyDefaults(FullSpecWithDefaults spec) {
+        spec.getGlobalSpec().applyDefaults(null);
+        spec.applyDefaults(spec.getGlobalSpec());
+    }
+
+    @Benchmark
+    public PulsarClusterSpec copyRawSpec() {
+        return SerializationUtil.deepCloneObject(rawSpec);
+    }
+
+    @Benchmark
+    public GlobalSpec globalSpecApplyDefaults() {
+        final GlobalSpec global = SerializationUtil.deepCloneObject(rawSpec).getGlobal();
+        global.applyDefaults(null);
+        return global;
+    }
+
+    @Benchmark
+    public PulsarClusterSpec clusterSpecApplyDefaults() {
+        final PulsarClusterSpec copy = SerializationUtil.deepCloneObject(rawSpec);
+        copy.getGlobal().applyDefaults(null);
+        copy.applyDefaults(copy.getGlobal());
+        return copy;
+    }
+
+    @Benchmark
+    public PulsarClusterSpec cachedDefaultedSpec() {
+        cluster.setSpec(rawSpec);
+        DefaultedSpecsCache.applyDefaults(cluster, DefaultsBenchmark::applyDefaults);
+        return cluster.getSpec();
+    }
+
+    @Benchmark
+    public BrokerSetSpec applyDefaultsWithReflection() {
+        final BrokerSpec broker = spec.getBroker();
+        return ConfigUtil.applyDefaultsWithReflection(new BrokerSetSpec(), () -> broker);
+    }
+
+    @Benchmark
+    public LinkedHashMap<String, BrokerSetSpec> brokerSetSpecs() {
+        return BrokerController.getBrokerSetSpecs(spec.getBroker());
+    }
+
+    @Benchmark
+    public LinkedHashMap<String, BookKeeperSetSpec> bookKeeperSetSpecs() {
+        return BookKeeperController.getBookKeeperSetSpecs(spec.getBookkeeper());
+    }
+}
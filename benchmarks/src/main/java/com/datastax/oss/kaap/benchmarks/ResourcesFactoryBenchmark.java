@@ -0,0 +1,97 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks;
+
+import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperController;
+import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperResourcesFactory;
+import com.datastax.oss.kaap.controllers.broker.BrokerController;
+import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSetSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.mocks.MockKubernetesClient;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Generation of the statefulsets of all the sets of a component, as done by every reconciliation.
+ * The config maps are created once in the setup against a mocked client, the benchmarks don't make any API call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourcesFactoryBenchmark {
+
+    @Param({"1", "10", "50"})
+    int sets;
+
+    private final List<BrokerResourcesFactory> brokerFactories = new ArrayList<>();
+    private final List<BookKeeperResourcesFactory> bookKeeperFactories = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        final PulsarClusterSpec spec = BenchmarkSpecs.newDefaultedClusterSpec(sets);
+        final MockKubernetesClient client = new MockKubernetesClient(BenchmarkSpecs.NAMESPACE);
+        for (Map.Entry<String, BrokerSetSpec> set : BrokerController.getBrokerSetSpecs(spec.getBroker())
+                .entrySet()) {
+            final BrokerResourcesFactory factory = new BrokerResourcesFactory(client.getClient(),
+                    BenchmarkSpecs.NAMESPACE, set.getKey(), set.getValue(), spec.getGlobal(), null);
+            factory.patchConfigMap();
+            brokerFactories.add(factory);
+        }
+        for (Map.Entry<String, BookKeeperSetSpec> set : BookKeeperController.getBookKeeperSetSpecs(
+                spec.getBookkeeper()).entrySet()) {
+            final BookKeeperResourcesFactory factory = new BookKeeperResourcesFactory(client.getClient(),
+                    BenchmarkSpecs.NAMESPACE, set.getKey(), set.getValue(), spec.getGlobal(), null);
+            factory.patchConfigMap();
+            bookKeeperFactories.add(factory);
+        }
+    }
+
+    @Benchmark
+    public void brokerStatefulSets(Blackhole blackhole) {
+        for (BrokerResourcesFactory factory : brokerFactories) {
+            final StatefulSet statefulSet = factory.generateStatefulSet();
+            blackhole.consume(statefulSet);
+        }
+    }
+
+    @Benchmark
+    public void bookKeeperStatefulSets(Blackhole blackhole) {
+        for (BookKeeperResourcesFactory factory : bookKeeperFactories) {
+            final StatefulSet statefulSet = factory.generateStatefulSet();
+            blackhole.consume(statefulSet);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of the cluster and broker specs. The JSON text round-trip is the previous clone implementation,
+ * kept as baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "10", "50"})
+    int sets;
+
+    private PulsarClusterSpec spec;
+    private BrokerFullSpec brokerSpec;
+
+    @Setup
+    public void setup() {
+        spec = BenchmarkSpecs.newDefaultedClusterSpec(sets);
+        brokerSpec = new BrokerFullSpec(spec.getGlobal(), spec.getBroker());
+    }
+
+    @Benchmark
+    public PulsarClusterSpec deepClone() {
+        return SerializationUtil.deepCloneObject(spec);
+    }
+
+    @Benchmark
+    public PulsarClusterSpec deepCloneJsonRoundTrip() {
+        return SerializationUtil.readJson(SerializationUtil.writeAsJson(spec), PulsarClusterSpec.class);
+    }
+
+    @Benchmark
+    public BrokerFullSpec deepCloneBroker() {
+        return SerializationUtil.deepCloneObject(brokerSpec);
+    }
+
+    @Benchmark
+    public BrokerFullSpec deepCloneBrokerJsonRoundTrip() {
+        return SerializationUtil.readJson(SerializationUtil.writeAsJson(brokerSpec), BrokerFullSpec.class);
+    }
+
+    @Benchmark
+    public String writeAsJson() {
+        return SerializationUtil.writeAsJson(spec);
+    }
+
+    @Benchmark
+    public byte[] writeAsCanonicalJson() {
+        return SerializationUtil.writeAsCanonicalJsonBytes(spec);
+    }
+}
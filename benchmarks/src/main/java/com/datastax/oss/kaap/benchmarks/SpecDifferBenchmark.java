@@ -0,0 +1,105 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.common.json.JSONAssertComparator;
+import com.datastax.oss.kaap.common.json.JSONComparator;
+import com.datastax.oss.kaap.crds.SpecDiffer;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperFullSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Spec diff done on every reconciliation to detect changes against the last applied spec.
+ * The JSONAssert based comparator is the previous implementation, kept as baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecDifferBenchmark {
+
+    @Param({"1", "10", "50"})
+    int sets;
+
+    private BrokerFullSpec spec;
+    private BrokerFullSpec equalSpec;
+    private BrokerFullSpec changedSpec;
+    private BookKeeperFullSpec bookKeeperSpec;
+    private BookKeeperFullSpec equalBookKeeperSpec;
+    private JSONAssertComparator jsonAssert;
+
+    @Setup
+    public void setup() {
+        final PulsarClusterSpec cluster = BenchmarkSpecs.newDefaultedClusterSpec(sets);
+        spec = new BrokerFullSpec(cluster.getGlobal(), cluster.getBroker());
+        equalSpec = SerializationUtil.deepCloneObject(spec);
+        changedSpec = SerializationUtil.deepCloneObject(spec);
+        changedSpec.getBroker().setReplicas(changedSpec.getBroker().getReplicas() + 1);
+        bookKeeperSpec = new BookKeeperFullSpec(cluster.getGlobal(), cluster.getBookkeeper());
+        equalBookKeeperSpec = SerializationUtil.deepCloneObject(bookKeeperSpec);
+        jsonAssert = new JSONAssertComparator();
+    }
+
+    @Benchmark
+    public boolean diffEquals() {
+        return SpecDiffer.generateDiff(spec, equalSpec).areEquals();
+    }
+
+    @Benchmark
+    public Object diffChanged() {
+        return SpecDiffer.generateDiff(spec, changedSpec).diffs();
+    }
+
+    @Benchmark
+    public boolean jsonAssertDiffEquals() {
+        return compareWithJsonAssert(spec, equalSpec).areEquals();
+    }
+
+    @Benchmark
+    public Object jsonAssertDiffChanged() {
+        return compareWithJsonAssert(spec, changedSpec).diffs();
+    }
+
+    @Benchmark
+    public boolean bookKeeperDiffEquals() {
+        return SpecDiffer.generateDiff(bookKeeperSpec, equalBookKeeperSpec).areEquals();
+    }
+
+    @Benchmark
+    public boolean jsonAssertBookKeeperDiffEquals() {
+        return compareWithJsonAssert(bookKeeperSpec, equalBookKeeperSpec).areEquals();
+    }
+
+    private JSONComparator.Result compareWithJsonAssert(Object expected, Object actual) {
+        return jsonAssert.compare(SerializationUtil.writeAsJson(expected), SerializationUtil.writeAsJson(actual));
+    }
+}
@@ -615,6 +615,16 @@ public class PulsarClusterResourceGeneratorTest {
                               scaleDownBy: 1
                               stabilizationWindowMs: 300000
                               resourcesUsageSource: PulsarLBReport
+                              resourcesUsageParallelism: 8
+                              resourcesUsageTimeoutMs: 30000
+                              missingResourcesUsagePolicy: Abort
+                              utilizationAggregation: Last
+                              utilizationWindowSize: 5
+                              utilizationEwmaAlpha: 0.5
+                              resourcesThresholdPolicy: Any
+                              predictionModel: None
+                              predictionLookaheadMs: 300000
+                              predictionHistoryMs: 1800000
                             kafka:
                               enabled: false
                               exposePorts: true
@@ -0,0 +1,119 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.SneakyThrows;
+
+/**
+ * Memoizes the content hashes and the parsed JSON trees of the specs.
+ * The spec of a resource can only change together with its metadata.generation, so the hashes are keyed by
+ * uid and generation. Parsed trees are keyed by their content hash and shared, callers must not modify them.
+ */
+public class SerializationCache {
+
+    /**
+     * The spec as stored in the API server.
+     */
+    public static final String SPEC_RAW = "raw";
+    /**
+     * The spec with the defaults applied by the controller.
+     */
+    public static final String SPEC_DEFAULTED = "defaulted";
+    private static final int MAX_ENTRIES = 1024;
+    private static final Map<String, String> HASHES = newLruMap();
+    private static final Map<String, JsonNode> TREES = newLruMap();
+
+    private SerializationCache() {
+    }
+
+    private static <V> Map<String, V> newLruMap() {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        });
+    }
+
+    /**
+     * SHA-256 of the canonical JSON (map entries sorted by key) of the value.
+     */
+    public static String canonicalHash(Object value) {
+        return hash(SerializationUtil.writeAsCanonicalJsonBytes(value));
+    }
+
+    @SneakyThrows
+    public static String hash(byte[] bytes) {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+
+    /**
+     * Same as {@link #canonicalHash(Object)}, memoized for the current generation of the owner resource.
+     * The value must be derived only from the owner spec. The variant tells apart the different values derived from
+     * the same spec, e.g. {@link #SPEC_RAW} and {@link #SPEC_DEFAULTED}.
+     */
+    public static String canonicalHash(HasMetadata owner, String variant, Object value) {
+        final String key = getGenerationKey(owner);
+        if (key == null) {
+            return canonicalHash(value);
+        }
+        final String cacheKey = key + "/" + variant + "/" + value.getClass().getName();
+        final String hash = HASHES.get(cacheKey);
+        if (hash != null) {
+            return hash;
+        }
+        final String computed = canonicalHash(value);
+        HASHES.put(cacheKey, computed);
+        return computed;
+    }
+
+    /**
+     * Parsed JSON tree of a document identified by its content hash.
+     */
+    public static JsonNode readJsonTree(String contentHash, Supplier<String> json) {
+        final JsonNode tree = TREES.get(contentHash);
+        if (tree != null) {
+            return tree;
+        }
+        final JsonNode parsed = SerializationUtil.readJsonTree(json.get());
+        TREES.put(contentHash, parsed);
+        return parsed;
+    }
+
+    public static void clear() {
+        HASHES.clear();
+        TREES.clear();
+    }
+
+    /**
+     * Identifies the current content of the resource spec, null if the resource has no uid or generation yet.
+     */
+    public static String getGenerationKey(HasMetadata resource) {
+        if (resource == null || resource.getMetadata() == null
+                || resource.getMetadata().getUid() == null || resource.getMetadata().getGeneration() == null) {
+            return null;
+        }
+        return resource.getMetadata().getUid() + "/" + resource.getMetadata().getGeneration();
+    }
+}
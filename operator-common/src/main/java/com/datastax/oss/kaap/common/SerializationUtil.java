@@ -16,8 +16,11 @@
 package com.datastax.oss.kaap.common;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import lombok.SneakyThrows;
@@ -26,6 +29,9 @@ public class SerializationUtil {
 
     private static final ObjectMapper mapper = new ObjectMapper()
             .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+    private static final ObjectMapper canonicalMapper = new ObjectMapper()
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
     private static final ObjectMapper yamlMapper = new ObjectMapper(YAMLFactory.builder()
             .enable(YAMLGenerator.Feature.MINIMIZE_QUOTES)
             .disable(YAMLGenerator.Feature.SPLIT_LINES)
@@ -37,14 +43,20 @@ public class SerializationUtil {
     private SerializationUtil() {
     }
 
+    /**
+     * Copies the object by streaming the serialization tokens into the deserializer, without encoding them as text.
+     */
     @SneakyThrows
     public static <T> T deepCloneObject(T object) {
         if (object == null) {
             return null;
         }
-        return (T)
-                mapper.readValue(
-                        mapper.writeValueAsString(object), object.getClass());
+        try (TokenBuffer buffer = new TokenBuffer(mapper, false)) {
+            mapper.writeValue(buffer, object);
+            try (JsonParser parser = buffer.asParser(mapper)) {
+                return (T) mapper.readValue(parser, object.getClass());
+            }
+        }
     }
 
     @SneakyThrows
@@ -57,6 +69,20 @@ public class SerializationUtil {
         return mapper.readValue(string, objectClass);
     }
 
+    @SneakyThrows
+    public static JsonNode readJsonTree(String string) {
+        return mapper.readTree(string);
+    }
+
+    public static JsonNode toJsonTree(Object object) {
+        return mapper.valueToTree(object);
+    }
+
+    @SneakyThrows
+    public static <T> T treeToValue(JsonNode tree, Class<T> objectClass) {
+        return mapper.treeToValue(tree, objectClass);
+    }
+
     @SneakyThrows
     public static <T> T convertValue(Object from, Class<T> objectClass) {
         return mapper.convertValue(from, objectClass);
@@ -67,6 +93,11 @@ public class SerializationUtil {
         return mapper.writeValueAsBytes(object);
     }
 
+    @SneakyThrows
+    public static byte[] writeAsCanonicalJsonBytes(Object object) {
+        return canonicalMapper.writeValueAsBytes(object);
+    }
+
     @SneakyThrows
     public static String writeAsYaml(Object object) {
         return yamlMapper.writeValueAsString(object);
@@ -0,0 +1,204 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.common.json;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares Jackson trees with the same semantics of {@link JSONAssertComparator} (strict mode), without
+ * serializing and parsing the documents again.
+ * {@link Result#areEquals()} stops at the first difference, the diffs are computed only when requested.
+ */
+public class JsonTreeComparator implements JSONComparator {
+
+    @Override
+    public Result compare(String expectedJson, String actualJson) {
+        return compare(SerializationUtil.readJsonTree(expectedJson), SerializationUtil.readJsonTree(actualJson));
+    }
+
+    public Result compare(JsonNode expected, JsonNode actual) {
+        if (!(expected.isObject() && actual.isObject()) && !(expected.isArray() && actual.isArray())) {
+            throw new IllegalArgumentException();
+        }
+        return new TreeResult(expected, actual);
+    }
+
+    private static class TreeResult implements Result {
+        private final JsonNode expected;
+        private final JsonNode actual;
+        private Boolean equals;
+        private List<FieldComparisonDiff> diffs;
+
+        TreeResult(JsonNode expected, JsonNode actual) {
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        @Override
+        public synchronized boolean areEquals() {
+            if (equals == null) {
+                equals = diffs != null ? diffs.isEmpty() : compareValues("", expected, actual, null);
+            }
+            return equals;
+        }
+
+        @Override
+        public synchronized List<FieldComparisonDiff> diffs() {
+            if (diffs == null) {
+                final Diffs collector = new Diffs();
+                compareValues("", expected, actual, collector);
+                diffs = collector.toList();
+                equals = diffs.isEmpty();
+            }
+            return diffs;
+        }
+    }
+
+    /**
+     * Same order of JSONAssert: the values that differ, then the missing fields and then the unexpected ones.
+     */
+    private static class Diffs {
+        private final List<FieldComparisonDiff> failures = new ArrayList<>();
+        private final List<FieldComparisonDiff> missing = new ArrayList<>();
+        private final List<FieldComparisonDiff> unexpected = new ArrayList<>();
+
+        List<FieldComparisonDiff> toList() {
+            final List<FieldComparisonDiff> result = new ArrayList<>(failures);
+            result.addAll(missing);
+            result.addAll(unexpected);
+            return result;
+        }
+    }
+
+    /**
+     * Returns true if the values are equal. If diffs is null, returns at the first difference.
+     */
+    private static boolean compareValues(String path, JsonNode expected, JsonNode actual, Diffs diffs) {
+        if (expected.isNumber() && actual.isNumber()) {
+            if (!numberEquals(expected, actual)) {
+                return fail(diffs, path, expected, actual);
+            }
+            return true;
+        }
+        if (expected.getNodeType() != actual.getNodeType()) {
+            return fail(diffs, path, expected, actual);
+        }
+        if (expected.isObject()) {
+            return compareObjects(path, expected, actual, diffs);
+        }
+        if (expected.isArray()) {
+            return compareArrays(path, expected, actual, diffs);
+        }
+        if (!expected.equals(actual)) {
+            return fail(diffs, path, expected, actual);
+        }
+        return true;
+    }
+
+    /**
+     * 1 and 1.0 are equal, as in JSONAssert, but the comparison is exact: going through doubles would make
+     * the longs above 2^53 equal to their neighbours.
+     */
+    private static boolean numberEquals(JsonNode expected, JsonNode actual) {
+        if (expected.numberType() == actual.numberType()) {
+            return expected.equals(actual);
+        }
+        if (expected.isIntegralNumber() && actual.isIntegralNumber()) {
+            return expected.bigIntegerValue().equals(actual.bigIntegerValue());
+        }
+        if (!Double.isFinite(expected.doubleValue()) || !Double.isFinite(actual.doubleValue())) {
+            return expected.doubleValue() == actual.doubleValue();
+        }
+        return expected.decimalValue().compareTo(actual.decimalValue()) == 0;
+    }
+
+    private static boolean compareObjects(String path, JsonNode expected, JsonNode actual, Diffs diffs) {
+        boolean equals = true;
+        for (Map.Entry<String, JsonNode> field : expected.properties()) {
+            final JsonNode actualValue = actual.get(field.getKey());
+            if (actualValue == null) {
+                if (diffs == null) {
+                    return false;
+                }
+                diffs.missing.add(new FieldComparisonDiff(quoted(path, field.getKey()),
+                        toValueString(field.getValue()), null));
+                equals = false;
+            } else if (!compareValues(qualify(path, field.getKey()), field.getValue(), actualValue, diffs)) {
+                if (diffs == null) {
+                    return false;
+                }
+                equals = false;
+            }
+        }
+        for (Map.Entry<String, JsonNode> field : actual.properties()) {
+            if (!expected.has(field.getKey())) {
+                if (diffs == null) {
+                    return false;
+                }
+                diffs.unexpected.add(new FieldComparisonDiff(quoted(path, field.getKey()),
+                        null, toValueString(field.getValue())));
+                equals = false;
+            }
+        }
+        return equals;
+    }
+
+    private static boolean compareArrays(String path, JsonNode expected, JsonNode actual, Diffs diffs) {
+        if (expected.size() != actual.size()) {
+            return fail(diffs, path, expected, actual);
+        }
+        boolean equals = true;
+        for (int i = 0; i < expected.size(); i++) {
+            if (!compareValues(path + "[" + i + "]", expected.get(i), actual.get(i), diffs)) {
+                if (diffs == null) {
+                    return false;
+                }
+                equals = false;
+            }
+        }
+        return equals;
+    }
+
+    private static boolean fail(Diffs diffs, String path, JsonNode expected, JsonNode actual) {
+        if (diffs != null) {
+            diffs.failures.add(new FieldComparisonDiff(path, toString(expected), toString(actual)));
+        }
+        return false;
+    }
+
+    private static String qualify(String path, String key) {
+        return path.isEmpty() ? key : path + "." + key;
+    }
+
+    private static String quoted(String path, String key) {
+        return "%s.\"%s\"".formatted(path, key);
+    }
+
+    private static String toString(JsonNode node) {
+        return node.isTextual() ? node.textValue() : node.toString();
+    }
+
+    /**
+     * Missing and unexpected values are reported as their Java representation, as JSONAssertComparator does.
+     */
+    private static String toValueString(JsonNode node) {
+        return String.valueOf(SerializationUtil.convertValue(node, Object.class));
+    }
+}
@@ -67,6 +67,7 @@ import io.fabric8.kubernetes.client.dsl.V1StorageAPIGroupDSL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import lombok.AllArgsConstructor;
@@ -93,8 +94,8 @@ public class MockKubernetesClient {
 
     final KubernetesClient client;
     final MockResourcesResolver resourcesResolver;
-    final List<ResourceInteraction> createdResources = new ArrayList<>();
-    final List<ResourceInteraction> deletedResources = new ArrayList<>();
+    final List<ResourceInteraction> createdResources = new CopyOnWriteArrayList<>();
+    final List<ResourceInteraction> deletedResources = new CopyOnWriteArrayList<>();
 
     public MockKubernetesClient(String namespace) {
         this(namespace, null);
@@ -386,6 +387,10 @@ public class MockKubernetesClient {
         return createdResources.size();
     }
 
+    public List<ResourceInteraction> getCreatedResources() {
+        return List.copyOf(createdResources);
+    }
+
     public <T extends HasMetadata> ResourceInteraction<T> getCreatedResource(Class<T> castTo) {
         final List<ResourceInteraction<T>> res = getCreatedResources(castTo);
         return res.isEmpty() ? null : res.get(0);
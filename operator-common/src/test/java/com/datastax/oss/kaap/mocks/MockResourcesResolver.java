@@ -33,11 +33,11 @@ import io.fabric8.kubernetes.api.model.batch.v1.Job;
 import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudget;
 import io.fabric8.kubernetes.api.model.storage.StorageClass;
 import io.fabric8.kubernetes.client.utils.Serialization;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.testng.internal.collections.Pair;
@@ -45,7 +45,7 @@ import org.testng.internal.collections.Pair;
 @Slf4j
 public class MockResourcesResolver {
 
-    private Map<Pair<String, String>, HasMetadata> resources = new HashMap<>();
+    private Map<Pair<String, String>, HasMetadata> resources = new ConcurrentHashMap<>();
 
     private static Pair<String, String> computeKey(HasMetadata resource) {
         return Pair.of(resource.getClass().getName(), resource.getMetadata().getName());
@@ -0,0 +1,196 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap;
+
+import io.fabric8.kubernetes.client.http.BasicBuilder;
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.fabric8.kubernetes.client.http.Interceptor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.jbosslog.JBossLog;
+
+/**
+ * Http interceptor that attributes every Kubernetes API request to the reconciliation running on the current thread.
+ * The scope is inherited by the threads started during the reconciliation, e.g. the ones patching the resources
+ * concurrently. Requests made outside a reconciliation, e.g. by the informers, are attributed to "none".
+ */
+@JBossLog
+public class ApiCallsAccounting implements Interceptor {
+
+    public static final String INTERCEPTOR_NAME = "kaap-api-calls";
+    public static final String API_REQUESTS_METRIC = "kaap.api.requests";
+    public static final String RECONCILE_API_CALLS_METRIC = "kaap.reconcile.api.calls";
+    private static final String NONE = "none";
+    private static final InheritableThreadLocal<Scope> CURRENT = new InheritableThreadLocal<>();
+    // bounded by controllers x verbs x kinds, registering the summary at every reconciliation is not free
+    private static final Map<String, DistributionSummary> CALLS_SUMMARIES = new ConcurrentHashMap<>();
+
+    public static class Scope implements AutoCloseable {
+        private final String controller;
+        private final String resource;
+        private volatile Scope previous;
+        private volatile String phase = NONE;
+        private volatile boolean closed;
+        private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+        private Scope(String controller, String resource, Scope previous) {
+            this.controller = controller;
+            this.resource = resource;
+            this.previous = previous;
+        }
+
+        public void setPhase(String phase) {
+            this.phase = phase;
+        }
+
+        /**
+         * Number of requests made in this scope, by "verb kind", e.g. "patch statefulsets".
+         */
+        public Map<String, Integer> getCalls() {
+            final Map<String, Integer> result = new TreeMap<>();
+            calls.forEach((k, v) -> result.put(k, v.get()));
+            return result;
+        }
+
+        public int getTotalCalls() {
+            return calls.values().stream().mapToInt(AtomicInteger::get).sum();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+            // the threads started in the scope keep a reference to it, don't retain the enclosing scopes too
+            previous = null;
+            calls.forEach((key, count) -> getCallsSummary(controller, key).record(count.get()));
+            if (log.isDebugEnabled()) {
+                log.debugf("%s reconciliation of %s made %d API calls: %s", controller, resource,
+                        getTotalCalls(), getCalls());
+            }
+        }
+    }
+
+    private static DistributionSummary getCallsSummary(String controller, String verbAndKind) {
+        return CALLS_SUMMARIES.computeIfAbsent(controller + " " + verbAndKind, k -> {
+            final String[] split = verbAndKind.split(" ");
+            return DistributionSummary.builder(RECONCILE_API_CALLS_METRIC)
+                    .tags("controller", controller, "verb", split[0], "kind", split[1])
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry);
+        });
+    }
+
+    public static Scope open(String controller, String resource) {
+        final Scope scope = new Scope(controller, resource, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static void setPhase(String phase) {
+        final Scope scope = getActiveScope();
+        if (scope != null) {
+            scope.setPhase(phase);
+        }
+    }
+
+    private static Scope getActiveScope() {
+        final Scope scope = CURRENT.get();
+        // long-lived threads started during a reconciliation (e.g. informers) inherit a scope that is closed by now
+        return scope == null || scope.closed ? null : scope;
+    }
+
+    @Override
+    public void before(BasicBuilder builder, HttpRequest request, RequestTags tags) {
+        final String verb = getVerb(request);
+        final String kind = getKind(request);
+        final Scope scope = getActiveScope();
+        if (scope != null) {
+            scope.calls.computeIfAbsent(verb + " " + kind, k -> new AtomicInteger()).incrementAndGet();
+        }
+        Metrics.counter(API_REQUESTS_METRIC,
+                "controller", scope == null ? NONE : scope.controller,
+                "phase", scope == null ? NONE : scope.phase,
+                "verb", verb,
+                "kind", kind).increment();
+    }
+
+    static String getVerb(HttpRequest request) {
+        final String method = request.method();
+        final String query = request.uri().getRawQuery();
+        return switch (method) {
+            case "GET" -> {
+                if (query != null && query.contains("watch=true")) {
+                    yield "watch";
+                }
+                yield isNamedResource(getResourcePathSegments(request)) ? "get" : "list";
+            }
+            case "POST" -> "create";
+            case "PUT" -> "update";
+            case "PATCH" -> "patch";
+            case "DELETE" -> "delete";
+            default -> method.toLowerCase(Locale.ROOT);
+        };
+    }
+
+    static String getKind(HttpRequest request) {
+        final String[] segments = getResourcePathSegments(request);
+        if (segments.length == 0) {
+            return NONE;
+        }
+        if (segments[0].equals("namespaces") && segments.length > 2) {
+            return segments[2];
+        }
+        return segments[0];
+    }
+
+    private static boolean isNamedResource(String[] segments) {
+        if (segments.length > 2 && segments[0].equals("namespaces")) {
+            return segments.length > 3;
+        }
+        return segments.length > 1;
+    }
+
+    /**
+     * Path segments after /api/{version} or /apis/{group}/{version}.
+     */
+    private static String[] getResourcePathSegments(HttpRequest request) {
+        final String path = request.uri().getPath();
+        final String[] segments = path.replaceAll("^/+|/+$", "").split("/");
+        final int skip;
+        if (segments[0].equals("api")) {
+            skip = 2;
+        } else if (segments[0].equals("apis")) {
+            skip = 3;
+        } else {
+            return new String[0];
+        }
+        if (segments.length <= skip) {
+            return new String[0];
+        }
+        final String[] result = new String[segments.length - skip];
+        System.arraycopy(segments, skip, result, 0, result.length);
+        return result;
+    }
+}
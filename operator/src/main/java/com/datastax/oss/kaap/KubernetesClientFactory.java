@@ -18,6 +18,7 @@ package com.datastax.oss.kaap;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientBuilder;
 import io.fabric8.kubernetes.client.okhttp.OkHttpClientFactory;
+import jakarta.enterprise.inject.Disposes;
 import jakarta.enterprise.inject.Produces;
 import jakarta.inject.Singleton;
 
@@ -27,6 +28,19 @@ public class KubernetesClientFactory {
     public KubernetesClient kubernetesClient() {
         return new KubernetesClientBuilder()
                 .withHttpClientFactory(new OkHttpClientFactory())
+                .withHttpClientBuilderConsumer(builder ->
+                        builder.addOrReplaceInterceptor(ApiCallsAccounting.INTERCEPTOR_NAME, new ApiCallsAccounting()))
                 .build();
     }
+
+    @Produces
+    @Singleton
+    public KubernetesResourcesCache kubernetesResourcesCache(KubernetesClient client,
+                                                             OperatorRuntimeConfiguration configuration) {
+        return new KubernetesResourcesCache(client, configuration.resourcesCacheEnabled());
+    }
+
+    public void closeKubernetesResourcesCache(@Disposes KubernetesResourcesCache resourcesCache) {
+        resourcesCache.close();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,249 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap;
+
+import com.datastax.oss.kaap.crds.CRDConstants;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudget;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.javaoperatorsdk.operator.api.reconciler.ResourceCache;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.extern.jbosslog.JBossLog;
+
+/**
+ * Informer backed read cache for the resources managed by the operator, scoped by namespace and app label.
+ * A null result is a cache miss: the caller is expected to read the resource from the API server.
+ * The kinds already watched by a controller event source are read from its informer, so they are not watched twice:
+ * the event sources are registered on the controller view, see {@link #forController(String)}.
+ * A cached resource older than the last version written by the operator is a cache miss too, so the readers
+ * never see the state before their own writes.
+ */
+@JBossLog
+public class KubernetesResourcesCache implements AutoCloseable {
+
+    public static final List<Class<? extends HasMetadata>> CACHED_RESOURCES = List.of(
+            StatefulSet.class,
+            Deployment.class,
+            Service.class,
+            ConfigMap.class,
+            PodDisruptionBudget.class,
+            Job.class,
+            Secret.class,
+            PersistentVolumeClaim.class
+    );
+
+    private record WrittenVersion(String uid, long generation) {
+    }
+
+    private final KubernetesClient client;
+    private final boolean enabled;
+    private final String controller;
+    private final Map<String, Map<Class<? extends HasMetadata>, Optional<SharedIndexInformer<?>>>> informers;
+    private final Map<String, Map<Class<? extends HasMetadata>, ResourceCache<?>>> eventSourceCaches;
+    private final Map<String, WrittenVersion> writtenVersions;
+
+    public KubernetesResourcesCache(KubernetesClient client, boolean enabled) {
+        this.client = client;
+        this.enabled = enabled;
+        this.controller = "";
+        this.informers = new ConcurrentHashMap<>();
+        this.eventSourceCaches = new ConcurrentHashMap<>();
+        this.writtenVersions = new ConcurrentHashMap<>();
+    }
+
+    private KubernetesResourcesCache(KubernetesResourcesCache parent, String controller) {
+        this.client = parent.client;
+        this.enabled = parent.enabled;
+        this.controller = controller;
+        this.informers = parent.informers;
+        this.eventSourceCaches = parent.eventSourceCaches;
+        this.writtenVersions = parent.writtenVersions;
+    }
+
+    /**
+     * View of the cache for a controller: it reads from the event sources registered by the same controller,
+     * the other kinds are read from the informers shared by all the views.
+     */
+    public KubernetesResourcesCache forController(String controller) {
+        return new KubernetesResourcesCache(this, controller);
+    }
+
+    /**
+     * Reads the resources of the kind from the event source cache instead of starting a dedicated informer.
+     * The event source must watch at least the resources with the app label.
+     */
+    public <R extends HasMetadata> void registerEventSourceCache(Class<R> resourceClass, ResourceCache<R> cache) {
+        if (!enabled || !CACHED_RESOURCES.contains(resourceClass)) {
+            return;
+        }
+        eventSourceCaches.computeIfAbsent(controller, c -> new ConcurrentHashMap<>())
+                .put(resourceClass, cache);
+    }
+
+    /**
+     * Records the resource returned by a write of the operator. Until the cache sees that version of the resource,
+     * or a later one, the reads of the resource are cache misses.
+     */
+    public void recordWrite(HasMetadata written) {
+        if (!enabled || written == null || written.getMetadata() == null
+                || written.getMetadata().getGeneration() == null
+                || !CACHED_RESOURCES.contains(written.getClass())) {
+            return;
+        }
+        writtenVersions.put(getWrittenVersionKey(written),
+                new WrittenVersion(written.getMetadata().getUid(), written.getMetadata().getGeneration()));
+    }
+
+    private boolean isOlderThanWritten(HasMetadata cached) {
+        final String key = getWrittenVersionKey(cached);
+        final WrittenVersion written = writtenVersions.get(key);
+        if (written == null) {
+            return false;
+        }
+        final Long generation = cached.getMetadata().getGeneration();
+        if (Objects.equals(written.uid(), cached.getMetadata().getUid())
+                && generation != null && generation >= written.generation()) {
+            // the cache caught up, the following versions can only be newer
+            writtenVersions.remove(key, written);
+            return false;
+        }
+        return true;
+    }
+
+    private static String getWrittenVersionKey(HasMetadata resource) {
+        return resource.getClass().getSimpleName() + "/" + resource.getMetadata().getNamespace() + "/"
+                + resource.getMetadata().getName();
+    }
+
+    public <R extends HasMetadata> R get(Class<R> resourceClass, String namespace, String name) {
+        final ResourceCache<R> eventSourceCache = getEventSourceCache(resourceClass, namespace);
+        final R cached;
+        if (eventSourceCache != null) {
+            cached = eventSourceCache.get(new ResourceID(name, namespace)).orElse(null);
+        } else {
+            final SharedIndexInformer<R> informer = getInformer(resourceClass, namespace);
+            if (informer == null) {
+                return null;
+            }
+            cached = informer.getStore().getByKey(Cache.namespaceKeyFunc(namespace, name));
+        }
+        if (cached == null || isOlderThanWritten(cached)) {
+            return null;
+        }
+        // the store instance is shared, never hand it out
+        return client.getKubernetesSerialization().clone(cached);
+    }
+
+    public <R extends HasMetadata> List<R> list(Class<R> resourceClass, String namespace,
+                                                Map<String, String> labels) {
+        if (labels == null
+                || !CRDConstants.LABEL_APP_VALUE.equals(labels.get(CRDConstants.LABEL_APP))) {
+            // the informers only see the resources with the app label
+            return null;
+        }
+        final ResourceCache<R> eventSourceCache = getEventSourceCache(resourceClass, namespace);
+        final List<R> cached;
+        if (eventSourceCache != null) {
+            cached = eventSourceCache.list(namespace, r -> hasLabels(r, labels)).collect(Collectors.toList());
+        } else {
+            final SharedIndexInformer<R> informer = getInformer(resourceClass, namespace);
+            if (informer == null) {
+                return null;
+            }
+            cached = informer.getStore().list()
+                    .stream()
+                    .filter(r -> hasLabels(r, labels))
+                    .collect(Collectors.toList());
+        }
+        if (cached.stream().anyMatch(this::isOlderThanWritten)) {
+            return null;
+        }
+        return cached.stream()
+                .map(r -> client.getKubernetesSerialization().clone(r))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean hasLabels(HasMetadata resource, Map<String, String> labels) {
+        final Map<String, String> resourceLabels = resource.getMetadata().getLabels();
+        if (resourceLabels == null) {
+            return false;
+        }
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            if (!Objects.equals(resourceLabels.get(label.getKey()), label.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private <R extends HasMetadata> ResourceCache<R> getEventSourceCache(Class<R> resourceClass, String namespace) {
+        if (!enabled || namespace == null) {
+            return null;
+        }
+        final Map<Class<? extends HasMetadata>, ResourceCache<?>> caches = eventSourceCaches.get(controller);
+        return caches == null ? null : (ResourceCache<R>) caches.get(resourceClass);
+    }
+
+    private <R extends HasMetadata> SharedIndexInformer<R> getInformer(Class<R> resourceClass, String namespace) {
+        if (!enabled || namespace == null || !CACHED_RESOURCES.contains(resourceClass)) {
+            return null;
+        }
+        final Optional<SharedIndexInformer<?>> informer = informers
+                .computeIfAbsent(namespace, ns -> new ConcurrentHashMap<>())
+                .computeIfAbsent(resourceClass, c -> startInformer(resourceClass, namespace));
+        return (SharedIndexInformer<R>) informer.orElse(null);
+    }
+
+    private <R extends HasMetadata> Optional<SharedIndexInformer<?>> startInformer(Class<R> resourceClass,
+                                                                                   String namespace) {
+        try {
+            final SharedIndexInformer<R> informer = client.resources(resourceClass)
+                    .inNamespace(namespace)
+                    .withLabel(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE)
+                    .inform();
+            log.infof("Started %s informer in namespace %s", resourceClass.getSimpleName(), namespace);
+            return Optional.of(informer);
+        } catch (Throwable tt) {
+            log.warnf(tt, "Cannot start %s informer in namespace %s, reading from the API server",
+                    resourceClass.getSimpleName(), namespace);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void close() {
+        informers.values()
+                .forEach(map -> map.values().forEach(i -> i.ifPresent(SharedIndexInformer::close)));
+        informers.clear();
+        eventSourceCaches.clear();
+        writtenVersions.clear();
+    }
+}
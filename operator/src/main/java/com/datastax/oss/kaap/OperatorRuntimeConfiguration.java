@@ -17,6 +17,7 @@ package com.datastax.oss.kaap;
 
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
+import java.util.Map;
 
 
 @ConfigMapping(prefix = "kaap")
@@ -24,4 +25,24 @@ public interface OperatorRuntimeConfiguration {
 
     @WithDefault("5")
     Integer reconciliationRescheduleSeconds();
+
+    @WithDefault("true")
+    Boolean resourcesCacheEnabled();
+
+    @WithDefault("true")
+    Boolean secondaryResourcesEventsEnabled();
+
+    @WithDefault("60")
+    Integer reconciliationFallbackRescheduleSeconds();
+
+    @WithDefault("4")
+    Integer setsReconciliationConcurrency();
+
+    @WithDefault("300")
+    Integer reconciliationBackoffMaxSeconds();
+
+    Map<String, Integer> reconciliationBackoffMaxSecondsByKind();
+
+    @WithDefault("0.2")
+    Double reconciliationRescheduleJitter();
 }
@@ -16,6 +16,7 @@
 package com.datastax.oss.kaap.autoscaler;
 
 import com.datastax.oss.kaap.NamespacedDaemonThread;
+import com.datastax.oss.kaap.autoscaler.broker.HttpLoadReportResourceUsageSource;
 import com.datastax.oss.kaap.controllers.broker.BrokerController;
 import com.datastax.oss.kaap.crds.broker.BrokerAutoscalerSpec;
 import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
@@ -23,6 +24,7 @@ import com.datastax.oss.kaap.crds.broker.BrokerSpec;
 import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,12 +39,18 @@ public class BrokerAutoscalerDaemon extends NamespacedDaemonThread<Map<String, B
 
     private final KubernetesClient client;
     private final ScheduledExecutorService executorService;
+    // by namespace and broker set, to keep the history of the broker sets that didn't change when rescheduling
+    private final Map<String, BrokerSetAutoscaler> autoscalers = new HashMap<>();
 
     public BrokerAutoscalerDaemon(KubernetesClient client, ScheduledExecutorService executorService) {
         this.client = client;
         this.executorService = executorService;
     }
 
+    BrokerSetAutoscaler getAutoscaler(String namespace, String brokerSetName) {
+        return autoscalers.get(namespace + "/" + brokerSetName);
+    }
+
     @Override
     protected Map<String, BrokerAutoscalerSpec> getSpec(PulsarClusterSpec clusterSpec) {
         final BrokerSpec broker = clusterSpec.getBroker();
@@ -56,18 +64,36 @@ public class BrokerAutoscalerDaemon extends NamespacedDaemonThread<Map<String, B
     protected List<ScheduledFuture<?>> specChanged(String namespace, Map<String, BrokerAutoscalerSpec> newSpec,
                                                    PulsarClusterSpec clusterSpec) {
         List<ScheduledFuture<?>> newTasks = new ArrayList<>();
+        final List<String> httpLoadReportSets = new ArrayList<>();
+        final Map<String, BrokerSetAutoscaler> previousAutoscalers = new HashMap<>();
+        autoscalers.entrySet().removeIf(entry -> {
+            if (entry.getKey().startsWith(namespace + "/")) {
+                previousAutoscalers.put(entry.getKey(), entry.getValue());
+                return true;
+            }
+            return false;
+        });
         for (Map.Entry<String, BrokerAutoscalerSpec> brokerSetAutoscalers :
                 newSpec.entrySet()) {
             final BrokerAutoscalerSpec spec = brokerSetAutoscalers.getValue();
             if (spec.getEnabled()) {
                 final String brokerSetName = brokerSetAutoscalers.getKey();
+                if (BrokerAutoscalerSpec.RESOURCE_USAGE_SOURCE_LOAD_BALANCER_HTTP.equals(
+                        spec.getResourcesUsageSource())) {
+                    httpLoadReportSets.add(brokerSetName);
+                }
                 log.infof("Scheduling broker autoscaler every %d ms for broker set %s",
                         spec.getPeriodMs(), brokerSetName);
-                newTasks.add(executorService.scheduleWithFixedDelay(
-                        new BrokerSetAutoscaler(client, namespace, brokerSetName, clusterSpec),
+                final String key = namespace + "/" + brokerSetName;
+                final BrokerSetAutoscaler autoscaler = new BrokerSetAutoscaler(client, namespace, brokerSetName,
+                        clusterSpec, previousAutoscalers.get(key));
+                autoscalers.put(key, autoscaler);
+                newTasks.add(executorService.scheduleWithFixedDelay(autoscaler,
                         spec.getPeriodMs(), spec.getPeriodMs(), TimeUnit.MILLISECONDS));
             }
         }
+        HttpLoadReportResourceUsageSource.retainHttpClients(namespace, clusterSpec.getGlobal().getName(),
+                httpLoadReportSets);
         return newTasks;
     }
 }
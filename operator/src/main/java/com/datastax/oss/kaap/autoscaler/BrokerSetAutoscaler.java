@@ -15,7 +15,11 @@
  */
 package com.datastax.oss.kaap.autoscaler;
 
+import com.datastax.oss.kaap.autoscaler.broker.BrokerLoadForecast;
 import com.datastax.oss.kaap.autoscaler.broker.BrokerResourceUsageSource;
+import com.datastax.oss.kaap.autoscaler.broker.BrokerResourcesThresholds;
+import com.datastax.oss.kaap.autoscaler.broker.BrokerUtilizationWindow;
+import com.datastax.oss.kaap.autoscaler.broker.HttpLoadReportResourceUsageSource;
 import com.datastax.oss.kaap.autoscaler.broker.LoadReportResourceUsageSource;
 import com.datastax.oss.kaap.autoscaler.broker.PodMetricResourceUsageSource;
 import com.datastax.oss.kaap.controllers.PulsarClusterController;
@@ -29,6 +33,7 @@ import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
 import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
 import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -47,9 +52,27 @@ public class BrokerSetAutoscaler implements Runnable {
     private final PulsarClusterSpec clusterSpec;
     private final String brokerSetName;
     private final BrokerSetSpec desiredBrokerSetSpec;
+    private final History history;
+
+    /**
+     * The samples collected by the autoscaler of the broker set. The runs of the autoscalers sharing it are serialized.
+     */
+    private static class History {
+        private BrokerUtilizationWindow utilizationWindow;
+        private BrokerLoadForecast loadForecast;
+    }
 
     public BrokerSetAutoscaler(KubernetesClient client, String namespace,
                                String brokerSetName, PulsarClusterSpec clusterSpec) {
+        this(client, namespace, brokerSetName, clusterSpec, null);
+    }
+
+    /**
+     * Keeps the history of the previous autoscaler of the broker set if its autoscaler spec didn't change,
+     * e.g. when the broker sets are rescheduled because another one changed.
+     */
+    public BrokerSetAutoscaler(KubernetesClient client, String namespace,
+                               String brokerSetName, PulsarClusterSpec clusterSpec, BrokerSetAutoscaler previous) {
         this.client = client;
         this.namespace = namespace;
         this.brokerSetName = brokerSetName;
@@ -57,12 +80,25 @@ public class BrokerSetAutoscaler implements Runnable {
         this.desiredBrokerSetSpec = BrokerController.getBrokerSetSpecs(
                         new BrokerFullSpec(clusterSpec.getGlobal(), clusterSpec.getBroker()))
                 .get(brokerSetName);
+        if (previous != null && previous.brokerSetName.equals(brokerSetName)
+                && previous.clusterSpec.getGlobal().getName().equals(clusterSpec.getGlobal().getName())
+                && Objects.equals(previous.desiredBrokerSetSpec.getAutoscaler(), desiredBrokerSetSpec.getAutoscaler())) {
+            this.history = previous.history;
+        } else {
+            this.history = new History();
+        }
+    }
+
+    boolean isSharingHistory(BrokerSetAutoscaler other) {
+        return history == other.history;
     }
 
     @Override
     public void run() {
         try {
-            internalRun();
+            synchronized (history) {
+                internalRun();
+            }
         } catch (Throwable tt) {
             if (ExceptionUtils.indexOfThrowable(tt, RejectedExecutionException.class) >= 0) {
                 return;
@@ -75,6 +111,12 @@ public class BrokerSetAutoscaler implements Runnable {
     void internalRun() {
         final BrokerAutoscalerSpec autoscalerSpec = desiredBrokerSetSpec.getAutoscaler();
         Objects.requireNonNull(autoscalerSpec);
+        if (history.utilizationWindow == null) {
+            history.utilizationWindow = new BrokerUtilizationWindow(autoscalerSpec);
+            if (BrokerLoadForecast.isEnabled(autoscalerSpec)) {
+                history.loadForecast = new BrokerLoadForecast(autoscalerSpec);
+            }
+        }
 
         final String clusterSpecName = clusterSpec.getGlobal().getName();
         final String brokerCustomResourceName = PulsarClusterController.computeCustomResourceName(clusterSpec,
@@ -113,7 +155,8 @@ public class BrokerSetAutoscaler implements Runnable {
         }
         BrokerResourceUsageSource brokerResourceUsageSource =
                 newBrokerResourceUsageSource(autoscalerSpec, podSelector);
-        Optional<Boolean> scaleUpOrDown = decideScaleUpOrDown(autoscalerSpec, brokerResourceUsageSource);
+        Optional<Boolean> scaleUpOrDown = decideScaleUpOrDown(autoscalerSpec, brokerResourceUsageSource,
+                currentExpectedReplicas);
 
         if (scaleUpOrDown.isPresent()) {
             int scaleTo = scaleUpOrDown.get()
@@ -147,6 +190,8 @@ public class BrokerSetAutoscaler implements Runnable {
                     .inNamespace(namespace)
                     .withName(brokerCustomResourceName)
                     .patch(brokerCr);
+            // the samples collected before the scale don't represent the new load distribution
+            history.utilizationWindow.clear();
             log.infof("Scaled brokers for broker set %s from %d to %d",
                     brokerSetName, currentExpectedReplicas, scaleTo);
         } else {
@@ -163,30 +208,81 @@ public class BrokerSetAutoscaler implements Runnable {
     }
 
     private Optional<Boolean> decideScaleUpOrDown(BrokerAutoscalerSpec autoscalerSpec,
-                                        BrokerResourceUsageSource brokerResourceUsageSource) {
-        float cpuLowerThreshold = autoscalerSpec.getLowerCpuThreshold().floatValue();
-        float cpuHigherThreshold = autoscalerSpec.getHigherCpuThreshold().floatValue();
+                                                  BrokerResourceUsageSource brokerResourceUsageSource,
+                                                  int replicas) {
+        final BrokerResourcesThresholds thresholds = new BrokerResourcesThresholds(autoscalerSpec);
 
-
-        final List<BrokerResourceUsageSource.ResourceUsage> brokersResourceUsages =
+        final List<BrokerResourceUsageSource.ResourceUsage> samples =
                 brokerResourceUsageSource.getBrokersResourceUsages();
+        if (samples.isEmpty()) {
+            log.infof("No brokers resources usage available, skipping the autoscaling check");
+            return Optional.empty();
+        }
+        final List<BrokerResourceUsageSource.ResourceUsage> brokersResourceUsages =
+                history.utilizationWindow.addAndAggregate(samples);
 
+        final Optional<Boolean> scaleUpOrDown = decideScaleUpOrDown(thresholds, brokersResourceUsages);
+        if (history.loadForecast == null) {
+            return scaleUpOrDown;
+        }
+        history.loadForecast.add(System.currentTimeMillis(), computeLoad(samples, replicas));
+        if (scaleUpOrDown.isPresent() && scaleUpOrDown.get()) {
+            return scaleUpOrDown;
+        }
+        final Map<String, Float> projectedLoad = history.loadForecast.forecast();
+        if (projectedLoad.isEmpty()) {
+            return scaleUpOrDown;
+        }
+        final Map<String, Float> projectedUsage = new HashMap<>();
+        projectedLoad.forEach((resource, load) -> projectedUsage.put(resource, load / replicas));
+        final Optional<Boolean> projectedOverloaded = thresholds.evaluate(
+                new BrokerResourceUsageSource.ResourceUsage(brokerSetName, projectedUsage));
+        if (projectedOverloaded.isPresent() && projectedOverloaded.get()) {
+            log.infof("Broker set %s projected usage in %d ms is %s, scaling up ahead",
+                    brokerSetName, autoscalerSpec.getPredictionLookaheadMs(), projectedUsage);
+            return Optional.of(true);
+        }
+        return scaleUpOrDown;
+    }
+
+    /**
+     * The load of the broker set for each resource: the average usage of the brokers times the replicas, so the
+     * brokers that didn't report their usage are accounted as the others.
+     */
+    private static Map<String, Float> computeLoad(List<BrokerResourceUsageSource.ResourceUsage> samples,
+                                                  int replicas) {
+        final Map<String, Float> sums = new HashMap<>();
+        final Map<String, Integer> counts = new HashMap<>();
+        for (BrokerResourceUsageSource.ResourceUsage sample : samples) {
+            sample.getPercentUsages().forEach((resource, percent) -> {
+                sums.merge(resource, percent, Float::sum);
+                counts.merge(resource, 1, Integer::sum);
+            });
+        }
+        final Map<String, Float> load = new HashMap<>();
+        sums.forEach((resource, sum) -> load.put(resource, sum / counts.get(resource) * replicas));
+        return load;
+    }
+
+    private static Optional<Boolean> decideScaleUpOrDown(BrokerResourcesThresholds thresholds,
+                                        List<BrokerResourceUsageSource.ResourceUsage> brokersResourceUsages) {
         boolean scaleUp = false;
         boolean scaleDown = false;
         for (BrokerResourceUsageSource.ResourceUsage brokerUsage : brokersResourceUsages) {
-            final double cpuPercentage = brokerUsage.getPercentCpu();
-            if (cpuPercentage < cpuLowerThreshold) {
+            final Optional<Boolean> overloaded = thresholds.evaluate(brokerUsage);
+            if (overloaded.isEmpty()) {
+                return Optional.empty();
+            }
+            if (!overloaded.get()) {
                 if (scaleUp) {
                     return Optional.empty();
                 }
                 scaleDown = true;
-            } else if (cpuPercentage > cpuHigherThreshold) {
+            } else {
                 if (scaleDown) {
                     return Optional.empty();
                 }
                 scaleUp = true;
-            } else {
-                return Optional.empty();
             }
         }
         if (scaleUp && scaleDown) {
@@ -207,6 +303,9 @@ public class BrokerSetAutoscaler implements Runnable {
             case BrokerAutoscalerSpec.RESOURCE_USAGE_SOURCE_LOAD_BALANCER:
                 return new LoadReportResourceUsageSource(client, namespace, podSelector, brokerSetName,
                         desiredBrokerSetSpec, clusterSpec.getGlobalSpec());
+            case BrokerAutoscalerSpec.RESOURCE_USAGE_SOURCE_LOAD_BALANCER_HTTP:
+                return new HttpLoadReportResourceUsageSource(client, namespace, podSelector, brokerSetName,
+                        desiredBrokerSetSpec, clusterSpec.getGlobalSpec());
             case BrokerAutoscalerSpec.RESOURCE_USAGE_SOURCE_K8S_METRICS:
                 return new PodMetricResourceUsageSource(client, namespace, podSelector);
             default:
@@ -0,0 +1,211 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.broker;
+
+import com.datastax.oss.kaap.crds.broker.BrokerAutoscalerSpec;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the load history of a broker set and projects it lookaheadMs ahead.
+ * The load of a resource is the sum of the brokers usage, i.e. how many brokers it would fully use, so it doesn't
+ * change when the broker set is scaled.
+ * 'LinearTrend' fits a least squares line over the history. 'HoltWinters' uses additive Holt-Winters with daily
+ * seasonality over slots of periodMs; until two days of history are available it falls back to the linear trend.
+ */
+public class BrokerLoadForecast {
+
+    static final long SEASON_MS = TimeUnit.DAYS.toMillis(1);
+    private static final double LEVEL_SMOOTHING = 0.3d;
+    private static final double TREND_SMOOTHING = 0.05d;
+    private static final double SEASONAL_SMOOTHING = 0.3d;
+    private static final int MIN_SAMPLES = 3;
+
+    private record Sample(long timestamp, Map<String, Float> load) {
+    }
+
+    private final String model;
+    private final long lookaheadMs;
+    private final long historyMs;
+    private final long periodMs;
+    private final Deque<Sample> samples = new ArrayDeque<>();
+
+    public BrokerLoadForecast(BrokerAutoscalerSpec autoscalerSpec) {
+        this(autoscalerSpec.getPredictionModel(), autoscalerSpec.getPredictionLookaheadMs(),
+                autoscalerSpec.getPredictionHistoryMs(), autoscalerSpec.getPeriodMs());
+    }
+
+    public BrokerLoadForecast(String model, long lookaheadMs, long historyMs, long periodMs) {
+        switch (model) {
+            case BrokerAutoscalerSpec.PREDICTION_MODEL_LINEAR_TREND:
+                this.historyMs = historyMs;
+                break;
+            case BrokerAutoscalerSpec.PREDICTION_MODEL_HOLT_WINTERS:
+                // two seasons are needed to initialize the trend
+                this.historyMs = Math.max(historyMs, 2 * SEASON_MS + periodMs);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown prediction model: " + model);
+        }
+        this.model = model;
+        this.lookaheadMs = lookaheadMs;
+        this.periodMs = periodMs;
+    }
+
+    public static boolean isEnabled(BrokerAutoscalerSpec autoscalerSpec) {
+        return autoscalerSpec.getPredictionModel() != null
+                && !autoscalerSpec.getPredictionModel().equals(BrokerAutoscalerSpec.PREDICTION_MODEL_NONE);
+    }
+
+    /**
+     * Adds the load of the broker set, for each resource, at the given time.
+     * The samples older than the history are dropped.
+     */
+    public void add(long timestamp, Map<String, Float> load) {
+        samples.addLast(new Sample(timestamp, load));
+        while (samples.getFirst().timestamp() < timestamp - historyMs) {
+            samples.removeFirst();
+        }
+    }
+
+    /**
+     * Projected load lookaheadMs after the last sample, for each resource with enough history.
+     */
+    public Map<String, Float> forecast() {
+        final Set<String> resources = new HashSet<>();
+        samples.forEach(s -> resources.addAll(s.load().keySet()));
+        final Map<String, Float> result = new HashMap<>();
+        for (String resource : resources) {
+            final long[] timestamps = new long[samples.size()];
+            final double[] values = new double[samples.size()];
+            int count = 0;
+            for (Sample sample : samples) {
+                final Float value = sample.load().get(resource);
+                if (value != null) {
+                    timestamps[count] = sample.timestamp();
+                    values[count++] = value;
+                }
+            }
+            if (count < MIN_SAMPLES) {
+                continue;
+            }
+            final long[] ts = Arrays.copyOf(timestamps, count);
+            final double[] vs = Arrays.copyOf(values, count);
+            final Double projected = model.equals(BrokerAutoscalerSpec.PREDICTION_MODEL_HOLT_WINTERS)
+                    ? holtWinters(ts, vs) : linearTrend(ts, vs);
+            if (projected != null) {
+                result.put(resource, (float) Math.max(0d, projected));
+            }
+        }
+        return result;
+    }
+
+    private Double linearTrend(long[] timestamps, double[] values) {
+        final long at = timestamps[timestamps.length - 1] + lookaheadMs;
+        return linearTrend(timestamps, values, at);
+    }
+
+    static Double linearTrend(long[] timestamps, double[] values, long at) {
+        final int n = values.length;
+        // relative to the first sample to keep the precision
+        final long origin = timestamps[0];
+        double meanT = 0;
+        double meanV = 0;
+        for (int i = 0; i < n; i++) {
+            meanT += timestamps[i] - origin;
+            meanV += values[i];
+        }
+        meanT /= n;
+        meanV /= n;
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < n; i++) {
+            final double dt = timestamps[i] - origin - meanT;
+            covariance += dt * (values[i] - meanV);
+            variance += dt * dt;
+        }
+        if (variance == 0) {
+            return null;
+        }
+        final double slope = covariance / variance;
+        return meanV + slope * (at - origin - meanT);
+    }
+
+    private Double holtWinters(long[] timestamps, double[] values) {
+        final int seasonLength = (int) (SEASON_MS / periodMs);
+        final double[] slots = toSlots(timestamps, values, periodMs);
+        if (seasonLength < 2 || slots.length < 2 * seasonLength) {
+            return linearTrend(timestamps, values);
+        }
+        final int stepsAhead = (int) Math.max(1, Math.ceil((double) lookaheadMs / periodMs));
+        return holtWinters(slots, seasonLength, stepsAhead);
+    }
+
+    /**
+     * Resamples the history in slots of slotMs: the mean of the samples of each slot, or the previous slot value if
+     * there are no samples, e.g. while the broker set wasn't ready to scale.
+     */
+    static double[] toSlots(long[] timestamps, double[] values, long slotMs) {
+        final long first = timestamps[0];
+        final int count = (int) ((timestamps[timestamps.length - 1] - first) / slotMs) + 1;
+        final double[] sums = new double[count];
+        final int[] counts = new int[count];
+        for (int i = 0; i < timestamps.length; i++) {
+            final int slot = (int) ((timestamps[i] - first) / slotMs);
+            sums[slot] += values[i];
+            counts[slot]++;
+        }
+        final double[] slots = new double[count];
+        for (int i = 0; i < count; i++) {
+            slots[i] = counts[i] > 0 ? sums[i] / counts[i] : slots[i - 1];
+        }
+        return slots;
+    }
+
+    static double holtWinters(double[] values, int seasonLength, int stepsAhead) {
+        double firstSeasonMean = 0;
+        double secondSeasonMean = 0;
+        for (int i = 0; i < seasonLength; i++) {
+            firstSeasonMean += values[i];
+            secondSeasonMean += values[seasonLength + i];
+        }
+        firstSeasonMean /= seasonLength;
+        secondSeasonMean /= seasonLength;
+
+        double level = firstSeasonMean;
+        double trend = (secondSeasonMean - firstSeasonMean) / seasonLength;
+        final double[] seasonal = new double[seasonLength];
+        for (int i = 0; i < seasonLength; i++) {
+            seasonal[i] = values[i] - firstSeasonMean;
+        }
+        for (int t = 0; t < values.length; t++) {
+            final int s = t % seasonLength;
+            final double previousLevel = level;
+            level = LEVEL_SMOOTHING * (values[t] - seasonal[s])
+                    + (1 - LEVEL_SMOOTHING) * (level + trend);
+            trend = TREND_SMOOTHING * (level - previousLevel) + (1 - TREND_SMOOTHING) * trend;
+            seasonal[s] = SEASONAL_SMOOTHING * (values[t] - level) + (1 - SEASONAL_SMOOTHING) * seasonal[s];
+        }
+        final int last = values.length - 1;
+        return level + stepsAhead * trend + seasonal[(last + stepsAhead) % seasonLength];
+    }
+}
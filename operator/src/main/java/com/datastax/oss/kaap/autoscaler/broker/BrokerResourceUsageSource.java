@@ -15,7 +15,9 @@
  */
 package com.datastax.oss.kaap.autoscaler.broker;
 
+import com.datastax.oss.kaap.crds.broker.BrokerAutoscalerSpec;
 import java.util.List;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -25,7 +27,19 @@ public interface BrokerResourceUsageSource {
     @AllArgsConstructor
     class ResourceUsage {
         String pod;
-        float percentCpu;
+        /**
+         * Usage of each resource relative to its limit, keyed by resource name (see BrokerAutoscalerSpec).
+         * Only the resources exposed by the source are present, cpu is always present.
+         */
+        Map<String, Float> percentUsages;
+
+        public ResourceUsage(String pod, float percentCpu) {
+            this(pod, Map.of(BrokerAutoscalerSpec.RESOURCE_CPU, percentCpu));
+        }
+
+        public float getPercentCpu() {
+            return percentUsages.get(BrokerAutoscalerSpec.RESOURCE_CPU);
+        }
     }
 
     List<ResourceUsage> getBrokersResourceUsages();
@@ -0,0 +1,149 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.broker;
+
+import com.datastax.oss.kaap.crds.broker.BrokerAutoscalerSpec;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Decides whether a broker is overloaded or underloaded from the usage of its resources, combining the thresholds
+ * of the resources with the resourcesThresholdPolicy.
+ * The resources not exposed by the resources usage source are ignored.
+ */
+public class BrokerResourcesThresholds {
+
+    private static final Set<String> RESOURCES = Set.of(
+            BrokerAutoscalerSpec.RESOURCE_CPU,
+            BrokerAutoscalerSpec.RESOURCE_MEMORY,
+            BrokerAutoscalerSpec.RESOURCE_DIRECT_MEMORY,
+            BrokerAutoscalerSpec.RESOURCE_BANDWIDTH_IN,
+            BrokerAutoscalerSpec.RESOURCE_BANDWIDTH_OUT);
+
+    private record Threshold(float lower, float higher, float weight) {
+    }
+
+    private final String policy;
+    private final Map<String, Threshold> thresholds = new LinkedHashMap<>();
+
+    public BrokerResourcesThresholds(BrokerAutoscalerSpec autoscalerSpec) {
+        policy = autoscalerSpec.getResourcesThresholdPolicy();
+        switch (policy) {
+            case BrokerAutoscalerSpec.RESOURCES_THRESHOLD_POLICY_ANY:
+            case BrokerAutoscalerSpec.RESOURCES_THRESHOLD_POLICY_ALL:
+            case BrokerAutoscalerSpec.RESOURCES_THRESHOLD_POLICY_WEIGHTED:
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown resources threshold policy: " + policy);
+        }
+        final Map<String, BrokerAutoscalerSpec.ResourceThresholdSpec> specs =
+                Objects.requireNonNullElse(autoscalerSpec.getResourceThresholds(), Map.of());
+
+        final BrokerAutoscalerSpec.ResourceThresholdSpec cpu = Objects.requireNonNullElse(
+                specs.get(BrokerAutoscalerSpec.RESOURCE_CPU), new BrokerAutoscalerSpec.ResourceThresholdSpec());
+        thresholds.put(BrokerAutoscalerSpec.RESOURCE_CPU, new Threshold(
+                Objects.requireNonNullElse(cpu.getLowerThreshold(), autoscalerSpec.getLowerCpuThreshold())
+                        .floatValue(),
+                Objects.requireNonNullElse(cpu.getHigherThreshold(), autoscalerSpec.getHigherCpuThreshold())
+                        .floatValue(),
+                getWeight(cpu)));
+
+        for (Map.Entry<String, BrokerAutoscalerSpec.ResourceThresholdSpec> entry : specs.entrySet()) {
+            final String resource = entry.getKey();
+            if (resource.equals(BrokerAutoscalerSpec.RESOURCE_CPU)) {
+                continue;
+            }
+            if (!RESOURCES.contains(resource)) {
+                throw new IllegalArgumentException("Unknown resource in resourceThresholds: " + resource);
+            }
+            final BrokerAutoscalerSpec.ResourceThresholdSpec spec = entry.getValue();
+            if (spec == null || spec.getLowerThreshold() == null || spec.getHigherThreshold() == null) {
+                throw new IllegalArgumentException(
+                        "lowerThreshold and higherThreshold are required for resource " + resource);
+            }
+            thresholds.put(resource, new Threshold(spec.getLowerThreshold().floatValue(),
+                    spec.getHigherThreshold().floatValue(), getWeight(spec)));
+        }
+    }
+
+    private static float getWeight(BrokerAutoscalerSpec.ResourceThresholdSpec spec) {
+        return spec.getWeight() == null ? 1f : spec.getWeight().floatValue();
+    }
+
+    /**
+     * Returns true if the broker is overloaded, false if it's underloaded and empty otherwise.
+     */
+    public Optional<Boolean> evaluate(BrokerResourceUsageSource.ResourceUsage usage) {
+        int count = 0;
+        int above = 0;
+        int below = 0;
+        double weightedSum = 0;
+        double weights = 0;
+        for (Map.Entry<String, Threshold> entry : thresholds.entrySet()) {
+            final Float percent = usage.getPercentUsages().get(entry.getKey());
+            if (percent == null) {
+                continue;
+            }
+            final Threshold threshold = entry.getValue();
+            count++;
+            if (percent > threshold.higher()) {
+                above++;
+            } else if (percent < threshold.lower()) {
+                below++;
+            }
+            if (threshold.higher() > threshold.lower()) {
+                weightedSum += threshold.weight() * (percent - threshold.lower())
+                        / (threshold.higher() - threshold.lower());
+                weights += threshold.weight();
+            }
+        }
+        if (count == 0) {
+            return Optional.empty();
+        }
+        switch (policy) {
+            case BrokerAutoscalerSpec.RESOURCES_THRESHOLD_POLICY_WEIGHTED: {
+                if (weights == 0) {
+                    return Optional.empty();
+                }
+                final double score = weightedSum / weights;
+                if (score > 1) {
+                    return Optional.of(true);
+                }
+                if (score < 0) {
+                    return Optional.of(false);
+                }
+                return Optional.empty();
+            }
+            case BrokerAutoscalerSpec.RESOURCES_THRESHOLD_POLICY_ALL:
+                if (above == count) {
+                    return Optional.of(true);
+                }
+                break;
+            default:
+                if (above > 0) {
+                    return Optional.of(true);
+                }
+                break;
+        }
+        if (below == count) {
+            return Optional.of(false);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.broker;
+
+import com.datastax.oss.kaap.crds.broker.BrokerAutoscalerSpec;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the last resources usage samples of each broker of a broker set and aggregates them, so the autoscaler
+ * decisions don't depend on a single sample.
+ * A broker missing from some samples, e.g. because it didn't answer in time, keeps its window; it's forgotten once
+ * it's been missing for as many samples as the window size, e.g. after it's been removed.
+ */
+public class BrokerUtilizationWindow {
+
+    private final String aggregation;
+    private final int size;
+    private final double ewmaAlpha;
+    private final Map<String, BrokerSamples> samples = new HashMap<>();
+
+    private static class BrokerSamples {
+        private Map<String, Deque<Float>> resources = Map.of();
+        private int missing;
+    }
+
+    public BrokerUtilizationWindow(BrokerAutoscalerSpec autoscalerSpec) {
+        this(autoscalerSpec.getUtilizationAggregation(), autoscalerSpec.getUtilizationWindowSize(),
+                autoscalerSpec.getUtilizationEwmaAlpha());
+    }
+
+    public BrokerUtilizationWindow(String aggregation, int size, double ewmaAlpha) {
+        switch (aggregation) {
+            case BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_LAST:
+            case BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_EWMA:
+            case BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_P90:
+            case BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_MAX:
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown utilization aggregation: " + aggregation);
+        }
+        this.aggregation = aggregation;
+        this.size = size;
+        this.ewmaAlpha = ewmaAlpha;
+    }
+
+    /**
+     * Adds the latest samples and returns the aggregated usage of each broker, in the same order.
+     * Each resource is aggregated separately.
+     */
+    public List<BrokerResourceUsageSource.ResourceUsage> addAndAggregate(
+            List<BrokerResourceUsageSource.ResourceUsage> usages) {
+        final Set<String> reported = new HashSet<>();
+        final List<BrokerResourceUsageSource.ResourceUsage> result = new ArrayList<>(usages.size());
+        for (BrokerResourceUsageSource.ResourceUsage usage : usages) {
+            final BrokerSamples broker = samples.computeIfAbsent(usage.getPod(), p -> new BrokerSamples());
+            final Map<String, Deque<Float>> brokerSamples = new HashMap<>();
+            final Map<String, Float> aggregated = new HashMap<>();
+            for (Map.Entry<String, Float> percentUsage : usage.getPercentUsages().entrySet()) {
+                Deque<Float> resourceSamples = broker.resources.get(percentUsage.getKey());
+                if (resourceSamples == null) {
+                    resourceSamples = new ArrayDeque<>(size);
+                }
+                if (resourceSamples.size() == size) {
+                    resourceSamples.removeFirst();
+                }
+                resourceSamples.addLast(percentUsage.getValue());
+                brokerSamples.put(percentUsage.getKey(), resourceSamples);
+                aggregated.put(percentUsage.getKey(), aggregate(resourceSamples));
+            }
+            broker.resources = brokerSamples;
+            broker.missing = 0;
+            reported.add(usage.getPod());
+            result.add(new BrokerResourceUsageSource.ResourceUsage(usage.getPod(), aggregated));
+        }
+        samples.entrySet().removeIf(e -> !reported.contains(e.getKey()) && ++e.getValue().missing >= size);
+        return result;
+    }
+
+    /**
+     * Forgets all the samples, e.g. after the broker set has been scaled.
+     */
+    public void clear() {
+        samples.clear();
+    }
+
+    private float aggregate(Deque<Float> resourceSamples) {
+        switch (aggregation) {
+            case BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_EWMA: {
+                double ewma = resourceSamples.getFirst();
+                for (Float sample : resourceSamples) {
+                    ewma = ewmaAlpha * sample + (1 - ewmaAlpha) * ewma;
+                }
+                return (float) ewma;
+            }
+            case BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_P90: {
+                final float[] sorted = new float[resourceSamples.size()];
+                int i = 0;
+                for (Float sample : resourceSamples) {
+                    sorted[i++] = sample;
+                }
+                Arrays.sort(sorted);
+                // nearest-rank
+                return sorted[(int) Math.ceil(0.9 * sorted.length) - 1];
+            }
+            case BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_MAX: {
+                float max = Float.NEGATIVE_INFINITY;
+                for (Float sample : resourceSamples) {
+                    max = Math.max(max, sample);
+                }
+                return max;
+            }
+            default:
+                return resourceSamples.getLast();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.broker;
+
+import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
+import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.TrustManagerFactory;
+import lombok.SneakyThrows;
+import lombok.extern.jbosslog.JBossLog;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+/**
+ * Same as {@link LoadReportResourceUsageSource} but the load report is requested directly to the broker web service,
+ * through the broker headless service, instead of running curl in the broker container.
+ * The HTTP clients are shared, so the connections to the brokers are reused across the autoscaling checks.
+ * There's one client for each broker set, cached together with the CA and the token read from the secrets:
+ * they're read again only when a broker rejects the TLS handshake or the token, e.g. after a rotation,
+ * and they're released when the broker set is no longer autoscaled.
+ */
+@JBossLog
+public class HttpLoadReportResourceUsageSource extends LoadReportResourceUsageSource {
+
+    private static final String SUPERUSER_TOKEN_SECRET = "token-superuser";
+    private static final String SUPERUSER_TOKEN_KEY = "superuser.jwt";
+    private static final Map<String, BrokerEndpoint> ENDPOINTS = new ConcurrentHashMap<>();
+
+    public HttpLoadReportResourceUsageSource(KubernetesClient client, String namespace,
+                                             Map<String, String> podSelector,
+                                             String brokerSet,
+                                             BrokerSetSpec brokerSetSpec,
+                                             GlobalSpec globalSpec) {
+        super(client, namespace, podSelector, brokerSet, brokerSetSpec, globalSpec);
+    }
+
+    private record BrokerEndpoint(HttpClient httpClient, String scheme, String port, String authorization) {
+    }
+
+    @Override
+    protected CompletableFuture<String> requestLoadReport(Pod pod, long deadline) {
+        final long remainingNanos = remainingNanos(deadline);
+        if (remainingNanos == 0) {
+            return CompletableFuture.failedFuture(new TimeoutException("Timed out before querying broker %s"
+                    .formatted(pod.getMetadata().getName())));
+        }
+        final String key = getEndpointKey(namespace, globalSpec.getName(), brokerSet);
+        final BrokerEndpoint brokerEndpoint = getEndpoint(key);
+        final HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(URI.create("%s://%s:%s/admin/v2/broker-stats/load-report/"
+                        .formatted(brokerEndpoint.scheme(), getBrokerHost(pod), brokerEndpoint.port())))
+                .timeout(Duration.ofNanos(remainingNanos))
+                .GET();
+        if (brokerEndpoint.authorization() != null) {
+            request.header("Authorization", brokerEndpoint.authorization());
+        }
+        final CompletableFuture<HttpResponse<String>> sent = brokerEndpoint.httpClient()
+                .sendAsync(request.build(), HttpResponse.BodyHandlers.ofString());
+        final CompletableFuture<String> body = sent.thenApply(response -> {
+            if (response.statusCode() == 401 || response.statusCode() == 403) {
+                invalidateEndpoint(key, brokerEndpoint);
+            }
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Broker %s returned HTTP %d for the load report: %s"
+                        .formatted(pod.getMetadata().getName(), response.statusCode(), response.body()));
+            }
+            return response.body();
+        });
+        body.whenComplete((response, ex) -> {
+            if (body.isCancelled()) {
+                // cancelling a dependent stage doesn't cancel the exchange
+                sent.cancel(true);
+            } else if (ex != null && ExceptionUtils.indexOfType(ex, SSLException.class) >= 0) {
+                invalidateEndpoint(key, brokerEndpoint);
+            }
+        });
+        return body;
+    }
+
+    /**
+     * The pod DNS name in the broker headless service, it's covered by the broker certificate.
+     */
+    protected String getBrokerHost(Pod pod) {
+        return "%s.%s.%s".formatted(pod.getMetadata().getName(), getResourceName(),
+                BaseResourcesFactory.getServiceDnsSuffix(globalSpec, namespace));
+    }
+
+    // the brokers of the set are queried concurrently, only one of them creates the endpoint
+    private synchronized BrokerEndpoint getEndpoint(String key) {
+        final boolean tls = BaseResourcesFactory.isTlsEnabledOnBrokerSet(globalSpec, brokerSet);
+        final String scheme = tls ? "https" : "http";
+        final String port = tls ? getWebServicePortTls() : getWebServicePort();
+        final boolean authEnabled = BaseResourcesFactory.isAuthTokenEnabled(globalSpec);
+        final BrokerEndpoint current = ENDPOINTS.get(key);
+        if (current != null && current.scheme().equals(scheme) && current.port().equals(port)
+                && authEnabled == (current.authorization() != null)) {
+            return current;
+        }
+        final String authorization = authEnabled ? "Bearer " + getSuperUserToken() : null;
+        final HttpClient httpClient = newHttpClient(tls ? getCaCertificate() : null);
+        final BrokerEndpoint endpoint = new BrokerEndpoint(httpClient, scheme, port, authorization);
+        final BrokerEndpoint replaced = ENDPOINTS.put(key, endpoint);
+        if (replaced != null) {
+            // the in-flight requests are completed before the old client is released
+            replaced.httpClient().shutdown();
+        }
+        return endpoint;
+    }
+
+    private String getSuperUserToken() {
+        final Secret secret = client.secrets()
+                .inNamespace(namespace)
+                .withName(SUPERUSER_TOKEN_SECRET)
+                .get();
+        if (secret == null || secret.getData() == null || !secret.getData().containsKey(SUPERUSER_TOKEN_KEY)) {
+            throw new IllegalStateException("Cannot request the brokers load report, secret '%s' not found"
+                    .formatted(SUPERUSER_TOKEN_SECRET));
+        }
+        return decode(secret.getData().get(SUPERUSER_TOKEN_KEY)).strip();
+    }
+
+    /**
+     * The CA of the broker certificate, null if the secret doesn't include it: in that case the certificate must be
+     * trusted by the operator JVM.
+     */
+    private String getCaCertificate() {
+        final String secretName = BaseResourcesFactory.getTlsSecretNameForBroker(globalSpec);
+        final Secret secret = client.secrets()
+                .inNamespace(namespace)
+                .withName(secretName)
+                .get();
+        if (secret == null) {
+            throw new IllegalStateException("Cannot request the brokers load report, secret '%s' not found"
+                    .formatted(secretName));
+        }
+        final String caCert = secret.getData() == null ? null : secret.getData().get("ca.crt");
+        return caCert == null ? null : decode(caCert);
+    }
+
+    private String getWebServicePortTls() {
+        Object webServicePortTls =
+                brokerSetSpec.getConfig() != null
+                        ? brokerSetSpec.getConfig().get("webServicePortTls")
+                        : null;
+        if (webServicePortTls == null) {
+            webServicePortTls = BrokerResourcesFactory.DEFAULT_HTTPS_PORT;
+        }
+        return String.valueOf(webServicePortTls);
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+
+    static String getEndpointKey(String namespace, String clusterName, String brokerSet) {
+        return "%s/%s/%s".formatted(namespace, clusterName, brokerSet);
+    }
+
+    private static void invalidateEndpoint(String key, BrokerEndpoint endpoint) {
+        if (ENDPOINTS.remove(key, endpoint)) {
+            log.infof("Broker set %s rejected the load report request, reading the CA and the token again", key);
+            endpoint.httpClient().shutdown();
+        }
+    }
+
+    /**
+     * Releases the HTTP clients of the broker sets in the namespace that are not autoscaled anymore.
+     */
+    public static void retainHttpClients(String namespace, String clusterName, Collection<String> brokerSets) {
+        final Set<String> retained = brokerSets.stream()
+                .map(brokerSet -> getEndpointKey(namespace, clusterName, brokerSet))
+                .collect(Collectors.toSet());
+        ENDPOINTS.forEach((key, endpoint) -> {
+            if (key.startsWith(namespace + "/") && !retained.contains(key) && ENDPOINTS.remove(key, endpoint)) {
+                endpoint.httpClient().shutdown();
+            }
+        });
+    }
+
+    static HttpClient getHttpClient(String key) {
+        final BrokerEndpoint endpoint = ENDPOINTS.get(key);
+        return endpoint == null ? null : endpoint.httpClient();
+    }
+
+    static int getHttpClientsCount() {
+        return ENDPOINTS.size();
+    }
+
+    @SneakyThrows
+    private static HttpClient newHttpClient(String caCertificate) {
+        final HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10));
+        if (caCertificate != null) {
+            final KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+            trustStore.load(null, null);
+            int i = 0;
+            for (Certificate certificate : CertificateFactory.getInstance("X.509")
+                    .generateCertificates(new ByteArrayInputStream(caCertificate.getBytes(StandardCharsets.UTF_8)))) {
+                trustStore.setCertificateEntry("ca-" + i++, certificate);
+            }
+            final TrustManagerFactory trustManagerFactory =
+                    TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagerFactory.init(trustStore);
+            final SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, trustManagerFactory.getTrustManagers(), null);
+            builder.sslContext(sslContext);
+        }
+        log.infof("Created new HTTP client for the brokers load reports (%s)",
+                caCertificate == null ? "default trust" : "cluster CA");
+        return builder.build();
+    }
+}
@@ -19,15 +19,25 @@ import com.datastax.oss.kaap.autoscaler.AutoscalerUtils;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
 import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerAutoscalerSpec;
 import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.Metrics;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
@@ -37,12 +47,21 @@ import org.apache.commons.lang3.StringUtils;
 @JBossLog
 public class LoadReportResourceUsageSource implements BrokerResourceUsageSource {
 
-    private final KubernetesClient client;
-    private final String namespace;
+    public static final String LOAD_REPORT_REQUESTS_METRIC = "kaap.autoscaler.broker.load.report";
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private static final List<String> LOAD_REPORT_RESOURCES = List.of(
+            BrokerAutoscalerSpec.RESOURCE_CPU,
+            BrokerAutoscalerSpec.RESOURCE_MEMORY,
+            BrokerAutoscalerSpec.RESOURCE_DIRECT_MEMORY,
+            BrokerAutoscalerSpec.RESOURCE_BANDWIDTH_IN,
+            BrokerAutoscalerSpec.RESOURCE_BANDWIDTH_OUT);
+
+    protected final KubernetesClient client;
+    protected final String namespace;
     private final Map<String, String> podSelector;
-    private final String brokerSet;
-    private final BrokerSetSpec brokerSetSpec;
-    private final GlobalSpec globalSpec;
+    protected final String brokerSet;
+    protected final BrokerSetSpec brokerSetSpec;
+    protected final GlobalSpec globalSpec;
 
     public LoadReportResourceUsageSource(KubernetesClient client, String namespace,
                                          Map<String, String> podSelector,
@@ -57,6 +76,12 @@ public class LoadReportResourceUsageSource implements BrokerResourceUsageSource
         this.globalSpec = globalSpec;
     }
 
+    /**
+     * The brokers are queried concurrently, at most resourcesUsageParallelism at a time, and all the load reports
+     * must be collected within resourcesUsageTimeoutMs.
+     * A broker that fails or doesn't answer in time either aborts the whole check or it's left out of the result,
+     * depending on missingResourcesUsagePolicy.
+     */
     @Override
     @SneakyThrows
     public List<ResourceUsage> getBrokersResourceUsages() {
@@ -66,24 +91,81 @@ public class LoadReportResourceUsageSource implements BrokerResourceUsageSource
                 .list()
                 .getItems();
 
+        final BrokerAutoscalerSpec autoscalerSpec = brokerSetSpec.getAutoscaler();
+        final boolean skipMissing = isSkipMissing(autoscalerSpec.getMissingResourcesUsagePolicy());
+        final long deadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(autoscalerSpec.getResourcesUsageTimeoutMs());
+        final Semaphore permits = new Semaphore(autoscalerSpec.getResourcesUsageParallelism());
+
+        // cancelling these futures interrupts the tasks, which in turn cancel the in-flight requests
+        final List<Future<ResourceUsage>> futures = new ArrayList<>(pods.size());
+        for (Pod pod : pods) {
+            futures.add(EXECUTOR.submit(() -> getBrokerResourceUsage(pod, permits, deadline)));
+        }
 
         List<ResourceUsage> result = new ArrayList<>();
-        String webServicePort = getWebServicePort();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                result.add(futures.get(i).get(remainingNanos(deadline), TimeUnit.NANOSECONDS));
+            } catch (ExecutionException | TimeoutException e) {
+                if (!skipMissing) {
+                    futures.forEach(f -> f.cancel(true));
+                    throw e;
+                }
+                futures.get(i).cancel(true);
+                log.warnf("Broker %s resources usage not available, skipping it: %s",
+                        pods.get(i).getMetadata().getName(), e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Requests the load report of the broker, the returned future completes with the JSON document.
+     * Cancelling the future must abort the request.
+     * The deadline is the {@link System#nanoTime()} by which all the load reports must be collected.
+     */
+    protected CompletableFuture<String> requestLoadReport(Pod pod, long deadline) {
         final String brokerUrl =
-                "http://localhost:%s/admin/v2/broker-stats/load-report/".formatted(String.valueOf(webServicePort));
+                "http://localhost:%s/admin/v2/broker-stats/load-report/".formatted(getWebServicePort());
         final String curlAuthHeader = BrokerResourcesFactory.computeCurlAuthHeader(globalSpec);
         final String curlCommand = StringUtils.isBlank(curlAuthHeader)
                 ? "curl %s".formatted(brokerUrl) : "curl %s %s".formatted(curlAuthHeader, brokerUrl);
+        return AutoscalerUtils.execInPod(client, namespace, pod.getMetadata().getName(), getContainerName(),
+                curlCommand);
+    }
 
-        final String containerName =
-                BrokerResourcesFactory.getMainContainerName(BrokerResourcesFactory.getResourceName(globalSpec.getName(),
-                        globalSpec.getComponents().getBrokerBaseName(), brokerSet,
-                        brokerSetSpec.getOverrideResourceName()));
-        for (Pod pod : pods) {
-            final String podName = pod.getMetadata().getName();
+    protected String getResourceName() {
+        return BrokerResourcesFactory.getResourceName(globalSpec.getName(),
+                globalSpec.getComponents().getBrokerBaseName(), brokerSet, brokerSetSpec.getOverrideResourceName());
+    }
 
-            final String jsonOut = AutoscalerUtils.execInPod(client, namespace, podName, containerName, curlCommand)
-                    .get(30, TimeUnit.SECONDS);
+    private String getContainerName() {
+        return BrokerResourcesFactory.getMainContainerName(getResourceName());
+    }
+
+    @SneakyThrows
+    private ResourceUsage getBrokerResourceUsage(Pod pod, Semaphore permits, long deadline) {
+        final String podName = pod.getMetadata().getName();
+        if (!permits.tryAcquire(remainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException("Timed out waiting to query broker %s".formatted(podName));
+        }
+        final long start = System.nanoTime();
+        String outcome = "failed";
+        try {
+            final CompletableFuture<String> request = requestLoadReport(pod, deadline);
+            final String jsonOut;
+            try {
+                jsonOut = request.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                request.cancel(true);
+                outcome = "timeout";
+                throw e;
+            } catch (InterruptedException e) {
+                request.cancel(true);
+                outcome = "cancelled";
+                throw e;
+            }
 
             final Map<String, Object> json = SerializationUtil.readJson(jsonOut, Map.class);
             if (!json.containsKey("cpu")) {
@@ -91,21 +173,52 @@ public class LoadReportResourceUsageSource implements BrokerResourceUsageSource
                         "Broker %s didn't exposed valid report usage, expected 'cpu', found: %s".formatted(podName,
                                 jsonOut));
             }
-            final LoadReportResourceUsage loadReportResourceUsage =
-                    SerializationUtil.convertValue(json.get("cpu"), LoadReportResourceUsage.class);
-            final float percentUsage = loadReportResourceUsage.percentUsage();
-
-            final float rounded = new BigDecimal(percentUsage).setScale(2, RoundingMode.HALF_UP)
-                    .floatValue();
+            final Map<String, Float> percentUsages = new HashMap<>();
+            for (String resource : LOAD_REPORT_RESOURCES) {
+                if (!json.containsKey(resource)) {
+                    continue;
+                }
+                final LoadReportResourceUsage loadReportResourceUsage =
+                        SerializationUtil.convertValue(json.get(resource), LoadReportResourceUsage.class);
+                // the broker doesn't know the limit, e.g. the bandwidth of some network interfaces
+                if (loadReportResourceUsage.getLimit() <= 0 && !resource.equals(BrokerAutoscalerSpec.RESOURCE_CPU)) {
+                    continue;
+                }
+                final float rounded = new BigDecimal(loadReportResourceUsage.percentUsage())
+                        .setScale(2, RoundingMode.HALF_UP)
+                        .floatValue();
+                percentUsages.put(resource, rounded);
+            }
 
+            log.infof("Broker %s cpu usage: %f %%", podName,
+                    percentUsages.get(BrokerAutoscalerSpec.RESOURCE_CPU) * 100, null);
+            log.debugf("Broker %s resources usage: %s", podName, percentUsages);
+            outcome = "ok";
+            return new ResourceUsage(podName, percentUsages);
+        } finally {
+            permits.release();
+            Metrics.timer(LOAD_REPORT_REQUESTS_METRIC, "outcome", outcome)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
 
-            log.infof("Broker %s cpu usage: %f %%", podName, rounded * 100, null);
-            result.add(new ResourceUsage(podName, rounded));
+    private static boolean isSkipMissing(String missingResourcesUsagePolicy) {
+        switch (missingResourcesUsagePolicy) {
+            case BrokerAutoscalerSpec.MISSING_RESOURCES_USAGE_POLICY_ABORT:
+                return false;
+            case BrokerAutoscalerSpec.MISSING_RESOURCES_USAGE_POLICY_SKIP:
+                return true;
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown missing resources usage policy: " + missingResourcesUsagePolicy);
         }
-        return result;
     }
 
-    private String getWebServicePort() {
+    protected static long remainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    protected String getWebServicePort() {
         Object webServicePort =
                 brokerSetSpec.getConfig() != null
                         ? brokerSetSpec.getConfig().get("webServicePort")
@@ -15,15 +15,21 @@
  */
 package com.datastax.oss.kaap.autoscaler.broker;
 
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.ContainerMetrics;
 import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
 import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetricsList;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.extern.jbosslog.JBossLog;
 
 @JBossLog
@@ -40,6 +46,11 @@ public class PodMetricResourceUsageSource implements BrokerResourceUsageSource {
         this.podSelector = podSelector;
     }
 
+    /**
+     * The CPU usage of each broker pod relative to its CPU requests.
+     * The requests are read from a single list of the broker pods. Only the containers with CPU requests are
+     * considered, so sidecars without requests don't affect the result.
+     */
     @Override
     public List<ResourceUsage> getBrokersResourceUsages() {
         final PodMetricsList metrics =
@@ -51,41 +62,51 @@ public class PodMetricResourceUsageSource implements BrokerResourceUsageSource {
 
         log.infof("Got %d broker pod metrics", metrics.getItems().size());
 
+        final Map<String, Pod> pods = client.pods()
+                .inNamespace(namespace)
+                .withLabels(podSelector)
+                .list()
+                .getItems()
+                .stream()
+                .collect(Collectors.toMap(pod -> pod.getMetadata().getName(), Function.identity()));
+
 
         List<ResourceUsage> result = new ArrayList<>();
 
 
         for (PodMetrics item : metrics.getItems()) {
             final String podName = item.getMetadata().getName();
-
-            float cpuUsage;
-            float requestedCpu;
-
-            Quantity cpuUsageQuantity = item.getContainers().get(0)
-                    .getUsage().get("cpu");
-
-            if (cpuUsageQuantity == null) {
-                log.warnf("Broker pod %s didn't exposed CPU usage", podName);
+            final Pod pod = pods.get(podName);
+            if (pod == null) {
+                log.warnf("Broker pod %s not found", podName);
                 continue;
-            } else {
-                cpuUsage = quantityToBytes(cpuUsageQuantity);
             }
-
-            final Quantity requestedCpuQuantity = client.pods()
-                    .inNamespace(namespace)
-                    .withName(podName)
-                    .get().getSpec()
-                    .getContainers()
-                    .get(0)
-                    .getResources()
-                    .getRequests()
-                    .get("cpu");
-            if (requestedCpuQuantity == null) {
+            final Map<String, Quantity> requestedCpuByContainer = getRequestedCpuByContainer(pod);
+            if (requestedCpuByContainer.isEmpty()) {
                 log.warnf("Broker pod %s CPU requests not set", podName);
                 continue;
-            } else {
-                requestedCpu = quantityToBytes(requestedCpuQuantity);
+            }
 
+            float cpuUsage = 0;
+            float requestedCpu = 0;
+            for (ContainerMetrics container : item.getContainers()) {
+                final Quantity requestedCpuQuantity = requestedCpuByContainer.get(container.getName());
+                if (requestedCpuQuantity == null) {
+                    continue;
+                }
+                final Quantity cpuUsageQuantity = container.getUsage() == null
+                        ? null : container.getUsage().get("cpu");
+                if (cpuUsageQuantity == null) {
+                    log.warnf("Broker pod %s didn't exposed CPU usage for container %s", podName,
+                            container.getName());
+                    continue;
+                }
+                cpuUsage += quantityToBytes(cpuUsageQuantity);
+                requestedCpu += quantityToBytes(requestedCpuQuantity);
+            }
+            if (requestedCpu == 0) {
+                log.warnf("Broker pod %s didn't exposed CPU usage", podName);
+                continue;
             }
             float percentage = cpuUsage / requestedCpu;
 
@@ -100,6 +121,20 @@ public class PodMetricResourceUsageSource implements BrokerResourceUsageSource {
         return result;
     }
 
+    private static Map<String, Quantity> getRequestedCpuByContainer(Pod pod) {
+        final Map<String, Quantity> result = new HashMap<>();
+        for (Container container : pod.getSpec().getContainers()) {
+            if (container.getResources() == null || container.getResources().getRequests() == null) {
+                continue;
+            }
+            final Quantity requestedCpu = container.getResources().getRequests().get("cpu");
+            if (requestedCpu != null) {
+                result.put(container.getName(), requestedCpu);
+            }
+        }
+        return result;
+    }
+
     private static float quantityToBytes(Quantity quantity) {
         return Quantity.getAmountInBytes(quantity)
                 .setScale(2, RoundingMode.HALF_EVEN)
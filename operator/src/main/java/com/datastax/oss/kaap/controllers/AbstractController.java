@@ -15,8 +15,13 @@
  */
 package com.datastax.oss.kaap.controllers;
 
+import com.datastax.oss.kaap.ApiCallsAccounting;
+import com.datastax.oss.kaap.KubernetesResourcesCache;
 import com.datastax.oss.kaap.OperatorRuntimeConfiguration;
-import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.common.SerializationCache;
+import com.datastax.oss.kaap.controllers.utils.DefaultedSpecsCache;
+import com.datastax.oss.kaap.controllers.utils.LastAppliedCodec;
+import com.datastax.oss.kaap.controllers.utils.RequeueBackoff;
 import com.datastax.oss.kaap.crds.BaseComponentStatus;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.FullSpecWithDefaults;
@@ -33,13 +38,25 @@ import com.datastax.oss.kaap.crds.validation.ValidSpec;
 import com.datastax.oss.kaap.crds.zookeeper.ZooKeeperSpec;
 import io.fabric8.kubernetes.api.model.Condition;
 import io.fabric8.kubernetes.api.model.ConditionBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.javaoperatorsdk.operator.api.config.informer.InformerEventSourceConfiguration;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.EventSourceContext;
 import io.javaoperatorsdk.operator.api.reconciler.Reconciler;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.EventSource;
+import io.javaoperatorsdk.operator.processing.event.source.IndexerResourceCache;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import io.javaoperatorsdk.operator.processing.event.source.informer.Mappers;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.inject.Inject;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintViolation;
@@ -47,7 +64,13 @@ import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -63,10 +86,28 @@ import org.hibernate.validator.cfg.context.ConstraintDefinitionContext;
 public abstract class AbstractController<T extends CustomResource<? extends FullSpecWithDefaults, BaseComponentStatus>>
         implements Reconciler<T> {
 
+    public static final String STATUS_WRITES_METRIC = "kaap.status.writes";
+    public static final String RECONCILE_TIMER_METRIC = "kaap.reconcile";
+    public static final String RECONCILE_PHASE_TIMER_METRIC = "kaap.reconcile.phase";
+    public static final String RECONCILE_RESCHEDULES_METRIC = "kaap.reconcile.reschedules";
+    public static final String RECONCILE_ERRORS_METRIC = "kaap.reconcile.errors";
+
     protected final KubernetesClient client;
+    private static final int VALIDATION_RESULTS_MAX_ENTRIES = 1024;
+    private static final Map<String, Optional<String>> VALIDATION_RESULTS =
+            Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Optional<String>> eldest) {
+                    return size() > VALIDATION_RESULTS_MAX_ENTRIES;
+                }
+            });
     private final Validator validator;
     @Inject
     OperatorRuntimeConfiguration operatorRuntimeConfiguration;
+    protected KubernetesResourcesCache resourcesCache;
+    private volatile boolean secondaryResourcesEventsRegistered;
+    private final RequeueBackoff requeueBackoff = new RequeueBackoff();
+    private volatile IndexerResourceCache<T> primaryCache;
 
     public AbstractController() {
         this(null);
@@ -75,11 +116,26 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
     @SneakyThrows
     public AbstractController(KubernetesClient client) {
         this.client = client;
-        this.validator = createValidator();
+        this.validator = SharedValidator.VALIDATOR;
+
+    }
+
+    /**
+     * Each controller reads from the event sources it registered, the same kind may be watched by several controllers.
+     */
+    @Inject
+    void setResourcesCache(KubernetesResourcesCache resourcesCache) {
+        this.resourcesCache = resourcesCache.forController(getClass().getName());
+    }
 
+    /**
+     * The validator is thread-safe and the constraint mappings are the same for all the controllers.
+     */
+    private static class SharedValidator {
+        private static final Validator VALIDATOR = createValidator();
     }
 
-    private Validator createValidator() {
+    private static Validator createValidator() {
         final HibernateValidatorConfiguration configuration = (HibernateValidatorConfiguration)
                 Validation.byDefaultProvider().configure();
         configuration.addMapping(getConstraintMapping(configuration,
@@ -96,7 +152,7 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
         return configuration.buildValidatorFactory().getValidator();
     }
 
-    private ConstraintMapping getConstraintMapping(HibernateValidatorConfiguration configuration,
+    private static ConstraintMapping getConstraintMapping(HibernateValidatorConfiguration configuration,
                                                    Class<? extends ConstraintValidator<ValidSpec, ?>>... validateBy) {
         final ConstraintMapping mapping = configuration.createConstraintMapping();
         final ConstraintDefinitionContext<ValidSpec> definitionContext =
@@ -109,32 +165,99 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
         return mapping;
     }
 
+    protected List<Class<? extends HasMetadata>> getSecondaryResourceClasses() {
+        return List.of();
+    }
+
+    @Override
+    public List<EventSource<?, T>> prepareEventSources(EventSourceContext<T> context) {
+        primaryCache = context.getPrimaryCache();
+        final List<Class<? extends HasMetadata>> secondaryResourceClasses = getSecondaryResourceClasses();
+        if (!operatorRuntimeConfiguration.secondaryResourcesEventsEnabled() || secondaryResourceClasses.isEmpty()) {
+            return List.of();
+        }
+        List<EventSource<?, T>> eventSources = new ArrayList<>();
+        for (Class<? extends HasMetadata> secondaryResourceClass : secondaryResourceClasses) {
+            eventSources.add(createSecondaryResourceEventSource(secondaryResourceClass, context));
+        }
+        secondaryResourcesEventsRegistered = true;
+        return eventSources;
+    }
+
+    private <R extends HasMetadata> EventSource<R, T> createSecondaryResourceEventSource(Class<R> resourceClass,
+                                                                                       EventSourceContext<T> context) {
+        final InformerEventSourceConfiguration.Builder<R> configuration = InformerEventSourceConfiguration
+                .from(resourceClass, context.getPrimaryResourceClass())
+                .withName(resourceClass.getSimpleName().toLowerCase(Locale.ROOT))
+                .withNamespacesInheritedFromController()
+                .withSecondaryToPrimaryMapper(Mappers.fromOwnerReferences(context.getPrimaryResourceClass()))
+                // our own patches only touch the spec, the status is what tells when a rollout progresses
+                .withOnUpdateFilter((newResource, oldResource) ->
+                        !Objects.equals(getResourceStatus(newResource), getResourceStatus(oldResource)));
+        if (!CustomResource.class.isAssignableFrom(resourceClass)) {
+            configuration.withLabelSelector(CRDConstants.LABEL_APP + "=" + CRDConstants.LABEL_APP_VALUE);
+        }
+        final InformerEventSource<R, T> eventSource = new InformerEventSource<>(configuration.build(), context);
+        if (resourcesCache != null) {
+            resourcesCache.registerEventSourceCache(resourceClass, eventSource);
+        }
+        return eventSource;
+    }
+
+    private static Object getResourceStatus(HasMetadata resource) {
+        if (resource instanceof StatefulSet statefulSet) {
+            return statefulSet.getStatus();
+        } else if (resource instanceof Deployment deployment) {
+            return deployment.getStatus();
+        } else if (resource instanceof Job job) {
+            return job.getStatus();
+        } else if (resource instanceof CustomResource<?, ?> customResource) {
+            return customResource.getStatus();
+        }
+        return null;
+    }
+
     @Override
     public UpdateControl<T> reconcile(T resource, Context<T> context) throws Exception {
+        final ApiCallsAccounting.Scope scope = ApiCallsAccounting.open(resource.getKind(),
+                resource.getMetadata().getNamespace() + "/" + resource.getMetadata().getName());
+        try {
+            return doReconcile(resource, context);
+        } finally {
+            scope.close();
+        }
+    }
+
+    private UpdateControl<T> doReconcile(T resource, Context<T> context) throws Exception {
         log.debugf("%s controller reconciliation started (resource gen %d)",
                 resource.getFullResourceName(), resource.getMetadata().getGeneration());
         long start = System.nanoTime();
 
-        final GlobalSpec globalSpec = resource.getSpec().getGlobalSpec();
-        globalSpec.applyDefaults(null);
-        resource.getSpec().applyDefaults(globalSpec);
+        DefaultedSpecsCache.applyDefaults(resource, this::applyDefaults);
 
         String lastApplied = resource.getStatus().getLastApplied();
 
         final String validationErrorMessage = validate(resource);
+        final long validationNanos = System.nanoTime() - start;
         if (validationErrorMessage != null) {
             final List<Condition> conditions =
                     mergeConditions(resource.getStatus().getConditions(), List.of(createNotReadyCondition(
                             resource, CRDConstants.CONDITIONS_TYPE_READY_REASON_INVALID_SPEC, validationErrorMessage
                     )), Instant.now());
-            resource.setStatus(new BaseComponentStatus(conditions, lastApplied));
-            return UpdateControl.patchStatus(resource);
+            final UpdateControl<T> update = updateStatus(resource, new BaseComponentStatus(conditions, lastApplied));
+            final String outcome = "invalid";
+            recordPhase(resource, "validation", outcome, validationNanos);
+            recordReconcile(resource, outcome, System.nanoTime() - start);
+            return update;
         }
 
 
         boolean reschedule;
+        boolean failed = false;
         List<Condition> conditions;
 
+        final long patchStart = System.nanoTime();
+        ApiCallsAccounting.setPhase("patch_resources");
         try {
             ReconciliationResult reconciliationResult = patchResources(resource, context);
             conditions = mergeConditions(resource.getStatus().getConditions(), reconciliationResult.getConditions(),
@@ -144,7 +267,7 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
                 if (reconciliationResult.getOverrideLastApplied() != null) {
                     lastApplied = reconciliationResult.getOverrideLastApplied();
                 } else {
-                    lastApplied = SerializationUtil.writeAsJson(resource.getSpec());
+                    lastApplied = LastAppliedCodec.encode(resource.getSpec());
                 }
             }
         } catch (Throwable throwable) {
@@ -156,8 +279,14 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
                     resource, CRDConstants.CONDITIONS_TYPE_READY_REASON_GENERIC_ERROR, throwable.getMessage()
             )), Instant.now());
             reschedule = true;
+            failed = true;
+            Metrics.counter(RECONCILE_ERRORS_METRIC, "controller", resource.getKind(),
+                    "exception", throwable.getClass().getSimpleName()).increment();
         }
-        long time = (System.nanoTime() - start) / 1_000_000;
+        final long statusStart = System.nanoTime();
+        ApiCallsAccounting.setPhase("status");
+        final long patchNanos = statusStart - patchStart;
+        long time = (statusStart - start) / 1_000_000;
 
         final String conditionsStr = conditions.stream().map(c -> {
             String str = "%s: %s";
@@ -173,14 +302,80 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
                 resource.getFullResourceName(),
                 time, reschedule + "", conditionsStr);
 
-        resource.setStatus(new BaseComponentStatus(conditions, lastApplied));
-        final UpdateControl<T> update = UpdateControl.patchStatus(resource);
+        final UpdateControl<T> update = updateStatus(resource, new BaseComponentStatus(conditions, lastApplied));
+        final String backoffKey = resource.getMetadata().getNamespace() + "/" + resource.getMetadata().getName();
+        cleanupDeletedResources();
         if (reschedule) {
-            update.rescheduleAfter(operatorRuntimeConfiguration.reconciliationRescheduleSeconds(), TimeUnit.SECONDS);
+            final int rescheduleSeconds = secondaryResourcesEventsRegistered && !failed
+                    ? operatorRuntimeConfiguration.reconciliationFallbackRescheduleSeconds()
+                    : operatorRuntimeConfiguration.reconciliationRescheduleSeconds();
+            final long delayMillis = requeueBackoff.nextDelayMillis(backoffKey, failed, rescheduleSeconds,
+                    getBackoffMaxSeconds(resource), operatorRuntimeConfiguration.reconciliationRescheduleJitter());
+            update.rescheduleAfter(delayMillis, TimeUnit.MILLISECONDS);
+            Metrics.counter(RECONCILE_RESCHEDULES_METRIC, "controller", resource.getKind(),
+                    "reason", failed ? "failed" : "not_ready").increment();
+        } else {
+            requeueBackoff.reset(backoffKey);
         }
+
+        final long end = System.nanoTime();
+        final String outcome = failed ? "failed" : (reschedule ? "not_ready" : "ready");
+        recordPhase(resource, "validation", outcome, validationNanos);
+        recordPhase(resource, "patch_resources", outcome, patchNanos);
+        recordPhase(resource, "status", outcome, end - statusStart);
+        recordReconcile(resource, outcome, end - start);
         return update;
     }
 
+    /**
+     * The resources have no finalizer, so their deletion is never reconciled: the requeue state of the resources
+     * no longer in the primary cache is dropped here.
+     */
+    private void cleanupDeletedResources() {
+        final IndexerResourceCache<T> cache = primaryCache;
+        if (cache == null) {
+            return;
+        }
+        for (String key : requeueBackoff.getKeys()) {
+            final int separator = key.indexOf('/');
+            final ResourceID resourceID = new ResourceID(key.substring(separator + 1), key.substring(0, separator));
+            if (cache.get(resourceID).isEmpty()) {
+                requeueBackoff.reset(key);
+            }
+        }
+    }
+
+    private static void recordPhase(CustomResource<?, ?> resource, String phase, String outcome, long nanos) {
+        Metrics.timer(RECONCILE_PHASE_TIMER_METRIC, "controller", resource.getKind(), "phase", phase,
+                "outcome", outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static void recordReconcile(CustomResource<?, ?> resource, String outcome, long nanos) {
+        Metrics.timer(RECONCILE_TIMER_METRIC, "controller", resource.getKind(), "outcome", outcome)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private int getBackoffMaxSeconds(T resource) {
+        final Integer max = operatorRuntimeConfiguration.reconciliationBackoffMaxSecondsByKind()
+                .get(resource.getKind().toLowerCase(Locale.ROOT));
+        return max == null ? operatorRuntimeConfiguration.reconciliationBackoffMaxSeconds() : max;
+    }
+
+    private UpdateControl<T> updateStatus(T resource, BaseComponentStatus status) {
+        if (status.equals(resource.getStatus())) {
+            // nothing changed, a status patch would only bump the resourceVersion and wake up the watchers
+            countStatusWrite(resource, "skipped");
+            return UpdateControl.noUpdate();
+        }
+        countStatusWrite(resource, "applied");
+        resource.setStatus(status);
+        return UpdateControl.patchStatus(resource);
+    }
+
+    private static void countStatusWrite(CustomResource<?, ?> resource, String result) {
+        Metrics.counter(STATUS_WRITES_METRIC, "kind", resource.getKind(), "result", result).increment();
+    }
+
     @Data
     @AllArgsConstructor
     protected static class ReconciliationResult {
@@ -205,7 +400,35 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
 
     protected abstract ReconciliationResult patchResources(T resource, Context<T> context) throws Exception;
 
+    /**
+     * Applies the defaults to the spec. The result is cached for the generation and shared by the reconciliations
+     * of that generation, so {@link #patchResources} must not modify the spec: anything derived from the spec alone
+     * belongs here.
+     */
+    protected void applyDefaults(FullSpecWithDefaults spec) {
+        final GlobalSpec globalSpec = spec.getGlobalSpec();
+        globalSpec.applyDefaults(null);
+        spec.applyDefaults(globalSpec);
+    }
+
+    /**
+     * The spec can only change together with its metadata.generation, so the result is cached for the generation.
+     */
     protected String validate(T resource) {
+        final String key = SerializationCache.getGenerationKey(resource);
+        if (key == null) {
+            return validateSpec(resource);
+        }
+        final Optional<String> cached = VALIDATION_RESULTS.get(key);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        final String result = validateSpec(resource);
+        VALIDATION_RESULTS.put(key, Optional.ofNullable(result));
+        return result;
+    }
+
+    private String validateSpec(T resource) {
         final Set<ConstraintViolation<Object>> violations = validator.validate(resource.getSpec());
         if (violations.isEmpty()) {
             return null;
@@ -238,7 +461,11 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
         if (lastApplied == null) {
             return true;
         }
-        return !SpecDiffer.generateDiff(cr.getSpec(), lastApplied).areEquals();
+        final String specHash = SerializationCache.canonicalHash(cr, SerializationCache.SPEC_DEFAULTED, cr.getSpec());
+        if (LastAppliedCodec.hasSameContentHash(lastApplied, specHash)) {
+            return false;
+        }
+        return !SpecDiffer.generateDiff(cr.getSpec(), LastAppliedCodec.decodeTree(lastApplied)).areEquals();
     }
 
     protected  <SPEC> SPEC getLastAppliedResource(T cr, Class<SPEC> toClass) {
@@ -246,7 +473,7 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
         if (lastApplied == null) {
             return null;
         }
-        return SerializationUtil.readJson(lastApplied, toClass);
+        return LastAppliedCodec.decode(lastApplied, toClass);
     }
 
     public static Condition createReadyCondition(CustomResource resource) {
@@ -316,7 +543,9 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
             }
 
             if (updated.getStatus().equals(condition.getStatus())) {
-                result.add(updated);
+                result.add(new ConditionBuilder(updated)
+                        .withLastTransitionTime(condition.getLastTransitionTime())
+                        .build());
             } else {
                 result.add(copyConditionWithLastTransitionTime(now, updated));
             }
@@ -15,10 +15,12 @@
  */
 package com.datastax.oss.kaap.controllers;
 
+import com.datastax.oss.kaap.common.SerializationCache;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.common.json.JSONComparator;
+import com.datastax.oss.kaap.controllers.utils.LastAppliedCodec;
+import com.datastax.oss.kaap.controllers.utils.SetSpecsResolver;
 import com.datastax.oss.kaap.crds.BaseComponentStatus;
-import com.datastax.oss.kaap.crds.ConfigUtil;
 import com.datastax.oss.kaap.crds.FullSpecWithDefaults;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.SpecDiffer;
@@ -31,6 +33,11 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -43,6 +50,8 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
         SETSLASTAPPLIED extends AbstractResourceSetsController.SetsLastApplied<FULLSPEC>>
         extends AbstractController<T> {
 
+    private static final ExecutorService PATCH_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
     private final String componentNameForLogs;
 
     public AbstractResourceSetsController(KubernetesClient client) {
@@ -72,6 +81,23 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
         Map<String, FULLSPEC> getSets();
     }
 
+    /**
+     * Runs the tasks concurrently and waits for all of them. Tasks that depend on each other must be chained
+     * inside the same task.
+     */
+    @SneakyThrows
+    protected static void runConcurrently(Runnable... tasks) {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            futures[i] = CompletableFuture.runAsync(tasks[i], PATCH_EXECUTOR);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException ex) {
+            throw ex.getCause();
+        }
+    }
+
     protected abstract String getComponentNameForLogs();
 
     protected abstract boolean isRollingUpdate(FULLSPEC fullspec);
@@ -100,7 +126,7 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
         final FULLSPEC spec = resource.getSpec();
 
         final OwnerReference ownerReference = getOwnerReference(resource);
-        List<SetInfo<SETSPEC, FACTORY>> desiredSets = getSets(ownerReference, namespace, spec);
+        List<SetInfo<SETSPEC, FACTORY>> desiredSets = getSets(resource, ownerReference, namespace, spec);
 
         SETSLASTAPPLIED lastAppliedResource = readSetsLastApplied(resource);
         final SETSLASTAPPLIED clonedLastAppliedResource = SerializationUtil.deepCloneObject(lastAppliedResource);
@@ -118,39 +144,33 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
 
         final boolean isRollingUpdate = isRollingUpdate(spec);
         boolean allSetsReady = true;
-        for (SetInfo<SETSPEC, FACTORY> info : desiredSets) {
-            final String setName = info.getName();
-            final FULLSPEC lastApplied = lastAppliedResource.getSets().get(setName);
-
-            final JSONComparator.Result compResult = compareLastAppliedSetSpec(resource, info, spec, lastApplied);
-            final boolean areEquals = compResult.areEquals();
-            if (areEquals) {
-                final ReconciliationResult result = checkReady(resource, info);
-                if (result.isReschedule()) {
-                    allSetsReady = false;
-                    if (isRollingUpdate) {
-                        log.infof("%s-set '%s' is not ready, rescheduling", componentNameForLogs, setName);
-                        result.setOverrideLastApplied(SerializationUtil.writeAsJson(lastAppliedResource));
-                        return result;
-                    } else {
-                        log.infof("%s-set '%s' is not ready", componentNameForLogs, setName);
+        if (isRollingUpdate) {
+            for (SetInfo<SETSPEC, FACTORY> info : desiredSets) {
+                final SetReconciliation reconciliation = reconcileSet(resource, info, spec,
+                        lastAppliedResource.getSets().get(info.getName()));
+                if (reconciliation.patched()) {
+                    lastAppliedResource.getSets().put(info.getName(), spec);
+                }
+                if (!reconciliation.isReady()) {
+                    log.infof("%s-set '%s' is not ready, rescheduling", componentNameForLogs, info.getName());
+                    if (reconciliation.patched()) {
+                        return newNotReadyResult(resource, lastAppliedResource);
                     }
-                } else {
-                    log.infof("%s-set '%s' is ready", componentNameForLogs, setName);
+                    final ReconciliationResult result = reconciliation.readiness();
+                    result.setOverrideLastApplied(LastAppliedCodec.encode(lastAppliedResource));
+                    return result;
                 }
-            } else {
-                SpecDiffer.logDetailedSpecDiff(compResult);
-                patchResourceSet(info);
-                log.infof("%s-set '%s' patched", componentNameForLogs, setName);
-
-                // this might happen if the replica has been set to zero
-                final boolean isReady = !checkReady(resource, info).isReschedule();
-                if (!isReady) {
-                    allSetsReady = false;
+            }
+        } else {
+            final List<SetReconciliation> reconciliations =
+                    reconcileSetsConcurrently(resource, desiredSets, spec, lastAppliedResource);
+            // merged in the declaration order of the sets, so the last applied is the same whatever the completion order
+            for (SetReconciliation reconciliation : reconciliations) {
+                if (reconciliation.patched()) {
+                    lastAppliedResource.getSets().put(reconciliation.setName(), spec);
                 }
-                lastAppliedResource.getSets().put(setName, spec);
-                if (!isReady && isRollingUpdate) {
-                    return newNotReadyResult(resource, lastAppliedResource);
+                if (!reconciliation.isReady()) {
+                    allSetsReady = false;
                 }
             }
         }
@@ -164,6 +184,57 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
         }
     }
 
+    private record SetReconciliation(String setName, boolean patched, ReconciliationResult readiness) {
+        boolean isReady() {
+            return !readiness.isReschedule();
+        }
+    }
+
+    private SetReconciliation reconcileSet(T resource, SetInfo<SETSPEC, FACTORY> info, FULLSPEC spec,
+                                           FULLSPEC lastApplied) {
+        final String setName = info.getName();
+        final JSONComparator.Result compResult = compareLastAppliedSetSpec(resource, info, spec, lastApplied);
+        if (compResult.areEquals()) {
+            final ReconciliationResult result = checkReady(resource, info);
+            if (result.isReschedule()) {
+                log.infof("%s-set '%s' is not ready", componentNameForLogs, setName);
+            } else {
+                log.infof("%s-set '%s' is ready", componentNameForLogs, setName);
+            }
+            return new SetReconciliation(setName, false, result);
+        }
+        SpecDiffer.logDetailedSpecDiff(compResult);
+        patchResourceSet(info);
+        log.infof("%s-set '%s' patched", componentNameForLogs, setName);
+        // this might happen if the replica has been set to zero
+        return new SetReconciliation(setName, true, checkReady(resource, info));
+    }
+
+    @SneakyThrows
+    private List<SetReconciliation> reconcileSetsConcurrently(T resource, List<SetInfo<SETSPEC, FACTORY>> sets,
+                                                              FULLSPEC spec, SETSLASTAPPLIED lastAppliedResource) {
+        final Semaphore permits = new Semaphore(
+                Math.max(1, operatorRuntimeConfiguration.setsReconciliationConcurrency()));
+        final List<CompletableFuture<SetReconciliation>> futures = new ArrayList<>();
+        for (SetInfo<SETSPEC, FACTORY> info : sets) {
+            final FULLSPEC lastApplied = lastAppliedResource.getSets().get(info.getName());
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    return reconcileSet(resource, info, spec, lastApplied);
+                } finally {
+                    permits.release();
+                }
+            }, PATCH_EXECUTOR));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException ex) {
+            throw ex.getCause();
+        }
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
     protected abstract JSONComparator.Result compareLastAppliedSetSpec(T resource, SetInfo<SETSPEC, FACTORY> setInfo, FULLSPEC spec,
                                                                        FULLSPEC lastApplied);
 
@@ -174,7 +245,7 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
         return new ReconciliationResult(
                 false,
                 List.of(createReadyCondition(resource)),
-                SerializationUtil.writeAsJson(lastAppliedResource)
+                LastAppliedCodec.encode(lastAppliedResource)
         );
     }
 
@@ -183,7 +254,7 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
         return new ReconciliationResult(
                 true,
                 List.of(createNotReadyInitializingCondition(resource)),
-                SerializationUtil.writeAsJson(lastAppliedResource)
+                LastAppliedCodec.encode(lastAppliedResource)
         );
     }
 
@@ -196,7 +267,7 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
             final Set<String> currentSets = sets.stream().map(SetInfo::getName)
                     .collect(Collectors.toSet());
             final List<SetInfo<SETSPEC, FACTORY>> toDelete =
-                    getSets(null, resource.getMetadata().getNamespace(), lastAppliedFullSpec, currentSets);
+                    getSets(null, null, resource.getMetadata().getNamespace(), lastAppliedFullSpec, currentSets);
             for (SetInfo<SETSPEC, FACTORY> set : toDelete) {
                 deleteResourceSet(set, resource);
                 log.infof("Deleted %s-set: '%s'", componentNameForLogs, set.getName());
@@ -212,15 +283,19 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
 
     protected void onSetReady(FULLSPEC lastAppliedFullSpec, T resource, SetInfo<SETSPEC, FACTORY> setInfo) {}
 
-    private List<SetInfo<SETSPEC, FACTORY>> getSets(OwnerReference ownerReference, String namespace, FULLSPEC spec) {
-        return getSets(ownerReference, namespace, spec, Set.of());
+    private List<SetInfo<SETSPEC, FACTORY>> getSets(T owner, OwnerReference ownerReference, String namespace,
+                                                    FULLSPEC spec) {
+        return getSets(owner, ownerReference, namespace, spec, Set.of());
     }
 
-    private List<SetInfo<SETSPEC, FACTORY>> getSets(OwnerReference ownerReference, String namespace, FULLSPEC spec,
-                                                    Set<String> excludes) {
+    /**
+     * The owner is set only if the spec is its current spec, with the defaults applied.
+     */
+    private List<SetInfo<SETSPEC, FACTORY>> getSets(T owner, OwnerReference ownerReference, String namespace,
+                                                    FULLSPEC spec, Set<String> excludes) {
         List<SetInfo<SETSPEC, FACTORY>> result = new ArrayList<>();
 
-        for (Map.Entry<String, SETSPEC> setSpec : getSetSpecs(getSpec(spec)).entrySet()) {
+        for (Map.Entry<String, SETSPEC> setSpec : getSetSpecs(owner, getSpec(spec)).entrySet()) {
             final String setName = setSpec.getKey();
             if (excludes.contains(setName)) {
                 continue;
@@ -234,21 +309,27 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
         return result;
     }
 
-    @SneakyThrows
-    protected LinkedHashMap<String, SETSPEC> getSetSpecs(SPEC spec) {
-        Map<String, SETSPEC> sets = getSets(spec);
-        if (sets == null || sets.isEmpty()) {
-            final String defaultSetName = getDefaultSetName();
-            sets = new LinkedHashMap(Map.of(defaultSetName,
-                    ConfigUtil.applyDefaultsWithReflection(spec.getClass().getConstructor().newInstance(),
-                            () -> spec)));
-        } else {
-            for (Map.Entry<String, SETSPEC> set : sets.entrySet()) {
-                sets.put(set.getKey(),
-                        ConfigUtil.applyDefaultsWithReflection(set.getValue(), () -> spec)
-                );
-            }
+    protected LinkedHashMap<String, SETSPEC> getSetSpecs(T owner, SPEC spec) {
+        return SetSpecsResolver.resolve(owner, SerializationCache.SPEC_DEFAULTED, spec, this::getSets,
+                getDefaultSetName());
+    }
+
+    /**
+     * Copy of the full spec with only the given set, resolved against the component spec.
+     * Used to compare the desired spec of a set with the last applied one.
+     */
+    protected FULLSPEC getSetFullSpec(FULLSPEC fullSpec, String setName) {
+        if (fullSpec == null || getSets(getSpec(fullSpec)) == null) {
+            return fullSpec;
+        }
+        final FULLSPEC copy = SerializationUtil.deepCloneObject(fullSpec);
+        final SPEC spec = getSpec(copy);
+        final Map<String, SETSPEC> sets = getSets(spec);
+        sets.entrySet().removeIf(e -> !e.getKey().equals(setName));
+        if (sets.containsKey(setName)) {
+            // the copy is only compared, the resolved set can share objects with the copied component spec
+            sets.put(setName, SetSpecsResolver.resolveSet(spec, sets.get(setName)));
         }
-        return new LinkedHashMap<>(sets);
+        return copy;
     }
 }
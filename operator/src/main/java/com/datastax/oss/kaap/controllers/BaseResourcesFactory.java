@@ -15,6 +15,7 @@
  */
 package com.datastax.oss.kaap.controllers;
 
+import com.datastax.oss.kaap.KubernetesResourcesCache;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
 import com.datastax.oss.kaap.controllers.zookeeper.ZooKeeperResourcesFactory;
@@ -70,6 +71,7 @@ import io.fabric8.kubernetes.api.model.storage.StorageClass;
 import io.fabric8.kubernetes.api.model.storage.StorageClassBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.VersionInfo;
+import io.micrometer.core.instrument.Metrics;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -99,7 +101,10 @@ public abstract class BaseResourcesFactory<T> {
 
     public static final String CONFIG_PULSAR_PREFIX = "PULSAR_PREFIX_";
     public static final String DEPLOYMENT_REVISION_ANNOTATION = "deployment.kubernetes.io/revision";
+    public static final String DESIRED_STATE_HASH_ANNOTATION = CRDConstants.GROUP + "/desired-state-hash";
+    public static final String RESOURCE_WRITES_METRIC = "kaap.resources.writes";
     protected final KubernetesClient client;
+    protected final KubernetesResourcesCache resourcesCache;
     protected final String namespace;
     protected final T spec;
     protected final GlobalSpec global;
@@ -109,7 +114,13 @@ public abstract class BaseResourcesFactory<T> {
 
     public BaseResourcesFactory(KubernetesClient client, String namespace, String resourceName, T spec,
                                 GlobalSpec global, OwnerReference ownerReference) {
+        this(client, null, namespace, resourceName, spec, global, ownerReference);
+    }
+
+    public BaseResourcesFactory(KubernetesClient client, KubernetesResourcesCache resourcesCache, String namespace,
+                                String resourceName, T spec, GlobalSpec global, OwnerReference ownerReference) {
         this.client = client;
+        this.resourcesCache = resourcesCache;
         this.namespace = namespace;
         // clone spec objects to avoid unintended object modifications.
         this.spec = SerializationUtil.deepCloneObject(spec);
@@ -141,13 +152,26 @@ public abstract class BaseResourcesFactory<T> {
         if (ownerReference != null && !isNonNamespacedResource(resource.getClass())) {
             resource.getMetadata().setOwnerReferences(List.of(ownerReference));
         }
+        if (resourcesCache != null) {
+            setDesiredStateHash(resource);
+        }
+        // the cached version only decides whether the write can be skipped: the patch is always computed against
+        // the live version, a stale base would produce a wrong patch with no resourceVersion precondition
+        final R cached = (R) getCachedResource(resource.getClass(), resource.getMetadata().getName());
+        if (cached != null && isPatchSkipped(resource, cached)) {
+            return;
+        }
         final R current = (R) client.resources(resource.getClass())
                 .inNamespace(namespace)
                 .withName(resource.getMetadata().getName())
                 .get();
-        final boolean isImmutableResource = isImmutableResource(resource.getClass());
-        if (current == null || isImmutableResource) {
-            if (current != null && isImmutableResource) {
+        if (current != null && isPatchSkipped(resource, current)) {
+            return;
+        }
+        countResourceWrite(resource, "applied");
+        final R written;
+        if (current == null || isImmutableResource(resource.getClass())) {
+            if (current != null) {
                 client
                         .resource(current)
                         .inNamespace(namespace)
@@ -155,19 +179,63 @@ public abstract class BaseResourcesFactory<T> {
                         .delete();
             }
             if (isComponentEnabled()) {
-                client.resource(resource)
+                written = client.resource(resource)
                         .inNamespace(namespace)
                         .create();
             } else {
                 log.infof("Skipping creating resource %s since component is disabled",
                         resource.getFullResourceName());
+                written = null;
             }
         } else {
-            client
+            written = client
                     .resource(current)
                     .inNamespace(namespace)
                     .patch(resource);
         }
+        if (resourcesCache != null) {
+            resourcesCache.recordWrite(written);
+        }
+    }
+
+    private boolean isPatchSkipped(HasMetadata resource, HasMetadata current) {
+        if (isImmutableResource(resource.getClass()) || !isDesiredStateUnchanged(resource, current)) {
+            return false;
+        }
+        log.debugf("Skipping patch of %s %s, desired state unchanged", resource.getKind(),
+                resource.getMetadata().getName());
+        countResourceWrite(resource, "skipped");
+        return true;
+    }
+
+    private void setDesiredStateHash(HasMetadata resource) {
+        // computed before adding the annotation, so it covers everything else we are going to write
+        final String hash = DigestUtils.sha256Hex(SerializationUtil.writeAsCanonicalJsonBytes(resource));
+        final Map<String, String> annotations = resource.getMetadata().getAnnotations() == null
+                ? new HashMap<>() : new HashMap<>(resource.getMetadata().getAnnotations());
+        annotations.put(DESIRED_STATE_HASH_ANNOTATION, hash);
+        resource.getMetadata().setAnnotations(annotations);
+    }
+
+    private static boolean isDesiredStateUnchanged(HasMetadata resource, HasMetadata current) {
+        final Map<String, String> annotations = resource.getMetadata().getAnnotations();
+        final Map<String, String> currentAnnotations = current.getMetadata().getAnnotations();
+        if (annotations == null || currentAnnotations == null) {
+            return false;
+        }
+        final String hash = annotations.get(DESIRED_STATE_HASH_ANNOTATION);
+        return hash != null && hash.equals(currentAnnotations.get(DESIRED_STATE_HASH_ANNOTATION));
+    }
+
+    private static void countResourceWrite(HasMetadata resource, String result) {
+        Metrics.counter(RESOURCE_WRITES_METRIC, "kind", resource.getKind(), "result", result).increment();
+    }
+
+    protected <R extends HasMetadata> R getCachedResource(Class<R> resourceClass, String name) {
+        if (resourcesCache == null) {
+            return null;
+        }
+        return resourcesCache.get(resourceClass, namespace, name);
     }
 
     public void deleteStatefulSet() {
@@ -304,12 +372,20 @@ public abstract class BaseResourcesFactory<T> {
     }
 
     protected boolean isTlsEnabledOnBrokerSet(String brokerSet) {
-        final TlsConfig.TlsEntryConfig tlsConfigForBrokerSet = getTlsConfigForBrokerSet(brokerSet);
+        return isTlsEnabledOnBrokerSet(global, brokerSet);
+    }
+
+    public static boolean isTlsEnabledOnBrokerSet(GlobalSpec global, String brokerSet) {
+        final TlsConfig.TlsEntryConfig tlsConfigForBrokerSet = getTlsConfigForBrokerSet(global, brokerSet);
         return tlsConfigForBrokerSet != null && tlsConfigForBrokerSet.getEnabled();
     }
 
 
     protected TlsConfig.TlsEntryConfig getTlsConfigForBrokerSet(String brokerSet) {
+        return getTlsConfigForBrokerSet(global, brokerSet);
+    }
+
+    public static TlsConfig.TlsEntryConfig getTlsConfigForBrokerSet(GlobalSpec global, String brokerSet) {
         if (global.getTls().getBrokerResourceSets() == null
                 || !global.getTls().getBrokerResourceSets().containsKey(brokerSet)) {
             return global.getTls().getBroker();
@@ -509,6 +585,10 @@ public abstract class BaseResourcesFactory<T> {
     }
 
     protected String getTlsSecretNameForBroker() {
+        return getTlsSecretNameForBroker(global);
+    }
+
+    public static String getTlsSecretNameForBroker(GlobalSpec global) {
         final String name = global.getTls().getBroker() == null
                 ? null : global.getTls().getBroker().getSecretName();
         return ObjectUtils.firstNonNull(
@@ -731,7 +811,16 @@ public abstract class BaseResourcesFactory<T> {
                 .build();
     }
 
+    /**
+     * The workloads and the jobs are read from the cache when it has seen the last version written by the operator,
+     * otherwise from the API server. The readiness checks compare the observed generation with the generation,
+     * so a cached status that is behind only delays the readiness.
+     */
     public StatefulSet getStatefulSet() {
+        final StatefulSet cached = getCachedResource(StatefulSet.class, resourceName);
+        if (cached != null) {
+            return cached;
+        }
         return client.apps().statefulSets()
                 .inNamespace(namespace)
                 .withName(resourceName)
@@ -739,6 +828,10 @@ public abstract class BaseResourcesFactory<T> {
     }
 
     public Deployment getDeployment() {
+        final Deployment cached = getCachedResource(Deployment.class, resourceName);
+        if (cached != null) {
+            return cached;
+        }
         return client.apps().deployments()
                 .inNamespace(namespace)
                 .withName(resourceName)
@@ -746,6 +839,10 @@ public abstract class BaseResourcesFactory<T> {
     }
 
     public Job getJob(String name) {
+        final Job cached = getCachedResource(Job.class, name);
+        if (cached != null) {
+            return cached;
+        }
         return client
                 .batch()
                 .v1()
@@ -780,6 +877,11 @@ public abstract class BaseResourcesFactory<T> {
             return false;
         }
         final StatefulSetStatus status = sts.getStatus();
+        if (!isGenerationObserved(sts.getMetadata().getGeneration(), status.getObservedGeneration())) {
+            log.debugf("statefulset %s is not ready, generation %d not observed yet (%d)",
+                    sts.getMetadata().getName(), sts.getMetadata().getGeneration(), status.getObservedGeneration());
+            return false;
+        }
         if (!Objects.equals(status.getCurrentRevision(), status.getUpdateRevision())) {
             log.debugf("statefulset %s is not ready, revision mismatch %s - %s", sts.getMetadata().getName(),
                     status.getCurrentRevision(), status.getUpdateRevision());
@@ -804,9 +906,23 @@ public abstract class BaseResourcesFactory<T> {
         if ((deployment == null) || (deployment.getStatus() == null)) {
             return false;
         }
+        if (!isGenerationObserved(deployment.getMetadata().getGeneration(),
+                deployment.getStatus().getObservedGeneration())) {
+            return false;
+        }
         return (deployment.getStatus().getAvailableReplicas().equals(deployment.getStatus().getReplicas()));
     }
 
+    /**
+     * The status describes the latest spec only if the workload controller already observed its generation.
+     */
+    private static boolean isGenerationObserved(Long generation, Long observedGeneration) {
+        if (generation == null || observedGeneration == null) {
+            return true;
+        }
+        return observedGeneration >= generation;
+    }
+
     public static boolean isPodReady(Pod pod) {
         if (pod == null) {
             return false;
@@ -16,15 +16,19 @@
 package com.datastax.oss.kaap.controllers;
 
 import com.datastax.oss.kaap.autoscaler.AutoscalerDaemon;
+import com.datastax.oss.kaap.common.SerializationCache;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.common.json.JSONComparator;
 import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperController;
 import com.datastax.oss.kaap.controllers.broker.BrokerController;
 import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
 import com.datastax.oss.kaap.controllers.utils.CertManagerCertificatesProvisioner;
+import com.datastax.oss.kaap.controllers.utils.ComponentDependencyGraph;
+import com.datastax.oss.kaap.controllers.utils.ComponentDependencyGraph.ComponentState;
 import com.datastax.oss.kaap.controllers.utils.TokenAuthProvisioner;
 import com.datastax.oss.kaap.crds.BaseComponentStatus;
 import com.datastax.oss.kaap.crds.CRDConstants;
+import com.datastax.oss.kaap.crds.FullSpecWithDefaults;
 import com.datastax.oss.kaap.crds.SpecDiffer;
 import com.datastax.oss.kaap.crds.autorecovery.Autorecovery;
 import com.datastax.oss.kaap.crds.autorecovery.AutorecoveryFullSpec;
@@ -48,6 +52,7 @@ import com.datastax.oss.kaap.crds.proxy.ProxyFullSpec;
 import com.datastax.oss.kaap.crds.zookeeper.ZooKeeper;
 import com.datastax.oss.kaap.crds.zookeeper.ZooKeeperFullSpec;
 import io.fabric8.kubernetes.api.model.Condition;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.OwnerReference;
@@ -60,7 +65,6 @@ import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
 import io.quarkus.runtime.ShutdownEvent;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -91,6 +95,20 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
         autoscaler = new AutoscalerDaemon(client);
     }
 
+    @Override
+    protected List<Class<? extends HasMetadata>> getSecondaryResourceClasses() {
+        return List.of(ZooKeeper.class, BookKeeper.class, Broker.class, Proxy.class, Bastion.class,
+                FunctionsWorker.class, Autorecovery.class);
+    }
+
+    @Override
+    protected void applyDefaults(FullSpecWithDefaults spec) {
+        super.applyDefaults(spec);
+        final PulsarClusterSpec clusterSpec = (PulsarClusterSpec) spec;
+        adjustProxyFunctionsWorkerDeployment(clusterSpec);
+        adjustBastionTarget(clusterSpec);
+    }
+
     @Override
     protected ReconciliationResult patchResources(PulsarCluster resource, Context<PulsarCluster> context)
             throws Exception {
@@ -102,7 +120,36 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
         generateSecretsIfAbsent(currentNamespace, clusterSpec);
         setupTls(currentNamespace, clusterSpec);
 
-        if (!checkReadyOrPatchZooKeeper(currentNamespace, clusterSpec, ownerReference)) {
+        final Map<String, ComponentState> states = new ComponentDependencyGraph()
+                .addComponent(CUSTOM_RESOURCE_ZOOKEEPER,
+                        () -> checkReadyOrPatchZooKeeper(currentNamespace, clusterSpec, ownerReference))
+                .addComponent(CUSTOM_RESOURCE_BOOKKEEPER, () -> {
+                    final boolean ready = checkReadyOrPatchBookKeeper(currentNamespace, clusterSpec, ownerReference);
+                    if (ready) {
+                        autoscaler.getBookKeeperAutoscalerDaemon().onSpecChange(clusterSpec, currentNamespace);
+                    }
+                    return ready;
+                }, CUSTOM_RESOURCE_ZOOKEEPER)
+                .addComponent(CUSTOM_RESOURCE_BROKER, () -> {
+                    final boolean ready = checkReadyOrPatchBroker(currentNamespace, clusterSpec, ownerReference);
+                    autoscaler.getBrokerAutoscalerDaemon().onSpecChange(clusterSpec, currentNamespace);
+                    return ready;
+                }, CUSTOM_RESOURCE_BOOKKEEPER)
+                .addComponent(CUSTOM_RESOURCE_PROXY,
+                        () -> checkReadyOrPatchProxy(currentNamespace, clusterSpec, ownerReference),
+                        CUSTOM_RESOURCE_BOOKKEEPER)
+                .addComponent(CUSTOM_RESOURCE_BASTION,
+                        () -> checkReadyOrPatchBastion(currentNamespace, clusterSpec, ownerReference),
+                        CUSTOM_RESOURCE_BOOKKEEPER)
+                .addComponent(CUSTOM_RESOURCE_FUNCTIONS_WORKER,
+                        () -> checkReadyOrPatchFunctionsWorker(currentNamespace, clusterSpec, ownerReference),
+                        CUSTOM_RESOURCE_BROKER)
+                .addComponent(CUSTOM_RESOURCE_AUTORECOVERY,
+                        () -> checkReadyOrPatchAutorecovery(currentNamespace, clusterSpec, ownerReference),
+                        CUSTOM_RESOURCE_BOOKKEEPER)
+                .execute();
+
+        if (states.get(CUSTOM_RESOURCE_ZOOKEEPER) != ComponentState.READY) {
             log.info("waiting for zookeeper to become ready");
             return new ReconciliationResult(
                     true,
@@ -110,37 +157,15 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
             );
         }
 
-
-        if (!checkReadyOrPatchBookKeeper(currentNamespace, clusterSpec, ownerReference)) {
+        if (states.get(CUSTOM_RESOURCE_BOOKKEEPER) != ComponentState.READY) {
             log.info("waiting for bookkeeper to become ready");
             return new ReconciliationResult(
                     true,
                     List.of(createNotReadyInitializingCondition(resource))
             );
         }
-        autoscaler.getBookKeeperAutoscalerDaemon().onSpecChange(clusterSpec, currentNamespace);
-
-        final boolean brokerReady = checkReadyOrPatchBroker(currentNamespace, clusterSpec, ownerReference);
-        autoscaler.getBrokerAutoscalerDaemon().onSpecChange(clusterSpec, currentNamespace);
-
-        adjustProxyFunctionsWorkerDeployment(clusterSpec);
-        final boolean proxyReady = checkReadyOrPatchProxy(currentNamespace, clusterSpec, ownerReference);
-
-        adjustBastionTarget(clusterSpec);
-        final boolean bastionReady = checkReadyOrPatchBastion(currentNamespace, clusterSpec, ownerReference);
-        boolean functionsWorkerReady = false;
-        if (brokerReady) {
-            functionsWorkerReady =
-                    checkReadyOrPatchFunctionsWorker(currentNamespace, clusterSpec, ownerReference);
-        }
-        final boolean autorecoveryReady = checkReadyOrPatchAutorecovery(currentNamespace, clusterSpec, ownerReference);
-
-        boolean allReady = autorecoveryReady
-                && brokerReady
-                && proxyReady
-                && bastionReady
-                && functionsWorkerReady;
 
+        final boolean allReady = states.values().stream().allMatch(s -> s == ComponentState.READY);
 
         if (allReady) {
             log.info("all resources ready, setting cluster to ready state");
@@ -149,22 +174,11 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
                     List.of(createReadyCondition(resource))
             );
         } else {
-            List<String> notReady = new ArrayList<>();
-            if (!autorecoveryReady) {
-                notReady.add("autorecovery");
-            }
-            if (!brokerReady) {
-                notReady.add("broker");
-            }
-            if (!proxyReady) {
-                notReady.add("proxy");
-            }
-            if (!bastionReady) {
-                notReady.add("bastion");
-            }
-            if (!functionsWorkerReady && brokerReady) {
-                notReady.add("functionsworker");
-            }
+            // components skipped because of a not ready dependency are not reported
+            final List<String> notReady = states.entrySet().stream()
+                    .filter(e -> e.getValue() == ComponentState.NOT_READY)
+                    .map(Map.Entry::getKey)
+                    .toList();
 
             log.infof("waiting for %s to become ready", notReady);
 
@@ -202,54 +216,81 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
         }
     }
 
-    private void adjustBrokerReplicas(Broker current, PulsarClusterSpec clusterSpec) {
-        if (clusterSpec.getBroker() != null) {
-            final LinkedHashMap<String, BrokerSetSpec> desiredBrokerSetSpecs =
-                    BrokerController.getBrokerSetSpecs(clusterSpec.getBroker());
-            final LinkedHashMap<String, BrokerSetSpec> currentBrokerSetSpecs =
-                    BrokerController.getBrokerSetSpecs(current.getSpec().getBroker());
-            for (Map.Entry<String, BrokerSetSpec> currentSet : currentBrokerSetSpecs.entrySet()) {
-                final BrokerSetSpec desiredBrokerSetSpec = desiredBrokerSetSpecs.get(currentSet.getKey());
-                if (desiredBrokerSetSpec != null
-                        && desiredBrokerSetSpec.getAutoscaler() != null
-                        && desiredBrokerSetSpec.getAutoscaler().getEnabled()) {
-                    final BrokerSetSpec currentBrokerSetSpec = currentSet.getValue();
-                    if (currentBrokerSetSpec.getReplicas() != null) {
-                        final Integer currentReplicas = currentBrokerSetSpec.getReplicas();
-                        // do not update replicas if patching, leave whatever the autoscaler have set
-                        if (currentSet.getKey().equals(BrokerResourcesFactory.BROKER_DEFAULT_SET)) {
-                            clusterSpec.getBroker().getDefaultBrokerSpecRef().setReplicas(currentReplicas);
-                        } else {
-                            clusterSpec.getBroker().getSets().get(currentSet.getKey()).setReplicas(currentReplicas);
-                        }
-                    }
+    /**
+     * The desired spec with the replicas set by the autoscaler on the current resource.
+     * The cluster spec is shared by the reconciliations, so the adjusted spec is a copy.
+     */
+    @SuppressWarnings("unchecked")
+    static <SPEC> SPEC withCurrentReplicas(CustomResource<SPEC, ?> current, SPEC spec) {
+        if (current instanceof BookKeeper bookKeeper) {
+            return (SPEC) adjustBookKeeperReplicas(bookKeeper, (BookKeeperFullSpec) spec);
+        }
+        if (current instanceof Broker broker) {
+            return (SPEC) adjustBrokerReplicas(broker, (BrokerFullSpec) spec);
+        }
+        return spec;
+    }
+
+    private static BrokerFullSpec adjustBrokerReplicas(Broker current, BrokerFullSpec desired) {
+        if (desired.getBroker() == null) {
+            return desired;
+        }
+        final LinkedHashMap<String, BrokerSetSpec> desiredBrokerSetSpecs =
+                BrokerController.getBrokerSetSpecs(desired.getBroker());
+        final LinkedHashMap<String, BrokerSetSpec> currentBrokerSetSpecs =
+                BrokerController.getBrokerSetSpecs(current.getSpec().getBroker());
+        BrokerFullSpec adjusted = desired;
+        for (Map.Entry<String, BrokerSetSpec> currentSet : currentBrokerSetSpecs.entrySet()) {
+            final BrokerSetSpec desiredBrokerSetSpec = desiredBrokerSetSpecs.get(currentSet.getKey());
+            if (desiredBrokerSetSpec != null
+                    && desiredBrokerSetSpec.getAutoscaler() != null
+                    && desiredBrokerSetSpec.getAutoscaler().getEnabled()) {
+                final Integer currentReplicas = currentSet.getValue().getReplicas();
+                // do not update replicas if patching, leave whatever the autoscaler have set
+                if (currentReplicas == null || currentReplicas.equals(desiredBrokerSetSpec.getReplicas())) {
+                    continue;
+                }
+                if (adjusted == desired) {
+                    adjusted = new BrokerFullSpec(desired.getGlobal(),
+                            SerializationUtil.deepCloneObject(desired.getBroker()));
+                }
+                if (currentSet.getKey().equals(BrokerResourcesFactory.BROKER_DEFAULT_SET)) {
+                    adjusted.getBroker().getDefaultBrokerSpecRef().setReplicas(currentReplicas);
+                } else {
+                    adjusted.getBroker().getSets().get(currentSet.getKey()).setReplicas(currentReplicas);
                 }
             }
         }
+        return adjusted;
     }
 
-    private void adjustBookKeeperReplicas(BookKeeper current, PulsarClusterSpec clusterSpec) {
-        if (clusterSpec.getBookkeeper() != null) {
-            final LinkedHashMap<String, BookKeeperSetSpec> desiredSpecs =
-                    BookKeeperController.getBookKeeperSetSpecs(clusterSpec.getBookkeeper());
-            final LinkedHashMap<String, BookKeeperSetSpec> currentSpecs =
-                    BookKeeperController.getBookKeeperSetSpecs(current.getSpec().getBookkeeper());
-
-            for (Map.Entry<String, BookKeeperSetSpec> currentSet : currentSpecs.entrySet()) {
-                final BookKeeperSetSpec desiredSetSpec = desiredSpecs.get(currentSet.getKey());
-                if (desiredSetSpec != null
-                        && desiredSetSpec.getAutoscaler() != null
-                        && desiredSetSpec.getAutoscaler().getEnabled()) {
-                    final BookKeeperSetSpec currentSetSpec = currentSet.getValue();
-                    if (currentSetSpec.getReplicas() != null) {
-                        final Integer currentReplicas = currentSetSpec.getReplicas();
-                        // do not update replicas if patching, leave whatever the autoscaler have set
-                        clusterSpec.getBookkeeper().getBookKeeperSetSpecRef(currentSet.getKey())
-                                .setReplicas(currentReplicas);
-                    }
+    private static BookKeeperFullSpec adjustBookKeeperReplicas(BookKeeper current, BookKeeperFullSpec desired) {
+        if (desired.getBookkeeper() == null) {
+            return desired;
+        }
+        final LinkedHashMap<String, BookKeeperSetSpec> desiredSpecs =
+                BookKeeperController.getBookKeeperSetSpecs(desired.getBookkeeper());
+        final LinkedHashMap<String, BookKeeperSetSpec> currentSpecs =
+                BookKeeperController.getBookKeeperSetSpecs(current.getSpec().getBookkeeper());
+        BookKeeperFullSpec adjusted = desired;
+        for (Map.Entry<String, BookKeeperSetSpec> currentSet : currentSpecs.entrySet()) {
+            final BookKeeperSetSpec desiredSetSpec = desiredSpecs.get(currentSet.getKey());
+            if (desiredSetSpec != null
+                    && desiredSetSpec.getAutoscaler() != null
+                    && desiredSetSpec.getAutoscaler().getEnabled()) {
+                final Integer currentReplicas = currentSet.getValue().getReplicas();
+                // do not update replicas if patching, leave whatever the autoscaler have set
+                if (currentReplicas == null || currentReplicas.equals(desiredSetSpec.getReplicas())) {
+                    continue;
+                }
+                if (adjusted == desired) {
+                    adjusted = new BookKeeperFullSpec(desired.getGlobal(),
+                            SerializationUtil.deepCloneObject(desired.getBookkeeper()));
                 }
+                adjusted.getBookkeeper().getBookKeeperSetSpecRef(currentSet.getKey()).setReplicas(currentReplicas);
             }
         }
+        return adjusted;
     }
 
     private boolean checkReadyOrPatchZooKeeper(String currentNamespace, PulsarClusterSpec clusterSpec,
@@ -356,7 +397,7 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
     private <CR extends CustomResource<SPEC, ?>, SPEC> boolean checkReadyOrPatch(
             String customResourceName,
             Class<CR> resourceClass,
-            SPEC spec,
+            SPEC desiredSpec,
             String namespace,
             PulsarClusterSpec clusterSpec,
             List<OwnerReference> ownerReferences) {
@@ -368,18 +409,18 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
 
         final String crFullName = computeCustomResourceName(clusterSpec, customResourceName);
         final CR current = getExistingCustomResource(resourceClass, namespace, crFullName);
+        final SPEC spec = current == null ? desiredSpec : withCurrentReplicas(current, desiredSpec);
         if (current != null) {
-            if (CUSTOM_RESOURCE_BOOKKEEPER.equals(customResourceName)) {
-                adjustBookKeeperReplicas((BookKeeper) current, clusterSpec);
-            }
-            if (CUSTOM_RESOURCE_BROKER.equals(customResourceName)) {
-                adjustBrokerReplicas((Broker) current, clusterSpec);
-            }
             final SPEC currentSpec = current.getSpec();
 
-            final String currentAsJson = SerializationUtil.writeAsJson(currentSpec);
-            final String newSpecAsJson = SerializationUtil.writeAsJson(spec);
-            final JSONComparator.Result diff = SpecDiffer.generateDiff(currentAsJson, newSpecAsJson);
+            // same content hash implies no diff, the hash of the current spec is memoized for its generation
+            final boolean sameContent = SerializationCache.canonicalHash(current, SerializationCache.SPEC_RAW,
+                            currentSpec)
+                    .equals(SerializationCache.canonicalHash(spec));
+            final String currentAsJson = sameContent ? null : SerializationUtil.writeAsJson(currentSpec);
+            final String newSpecAsJson = sameContent ? null : SerializationUtil.writeAsJson(spec);
+            final JSONComparator.Result diff = sameContent
+                    ? JSONComparator.RESULT_EQUALS : SpecDiffer.generateDiff(currentAsJson, newSpecAsJson);
             if (diff.areEquals()) {
                 final BaseComponentStatus currentStatus = (BaseComponentStatus) current.getStatus();
                 final Condition readyCondition = currentStatus.getConditions().stream()
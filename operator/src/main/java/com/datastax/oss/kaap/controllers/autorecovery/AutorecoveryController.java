@@ -19,6 +19,7 @@ import com.datastax.oss.kaap.controllers.AbstractController;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
 import com.datastax.oss.kaap.crds.autorecovery.Autorecovery;
 import com.datastax.oss.kaap.crds.autorecovery.AutorecoveryFullSpec;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
@@ -35,6 +36,11 @@ public class AutorecoveryController extends AbstractController<Autorecovery> {
         super(client);
     }
 
+    @Override
+    protected List<Class<? extends HasMetadata>> getSecondaryResourceClasses() {
+        return List.of(Deployment.class);
+    }
+
     @Override
     protected ReconciliationResult patchResources(Autorecovery resource, Context<Autorecovery> context) throws Exception {
         final String namespace = resource.getMetadata().getNamespace();
@@ -42,7 +48,8 @@ public class AutorecoveryController extends AbstractController<Autorecovery> {
 
         final AutorecoveryResourcesFactory
                 resourcesFactory = new AutorecoveryResourcesFactory(
-                client, namespace, spec.getAutorecovery(), spec.getGlobal(), getOwnerReference(resource));
+                client, resourcesCache, namespace, spec.getAutorecovery(), spec.getGlobal(),
+                getOwnerReference(resource));
 
 
         if (!areSpecChanged(resource)) {
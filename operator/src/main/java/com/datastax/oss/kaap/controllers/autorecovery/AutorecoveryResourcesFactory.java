@@ -15,6 +15,7 @@
  */
 package com.datastax.oss.kaap.controllers.autorecovery;
 
+import com.datastax.oss.kaap.KubernetesResourcesCache;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
 import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperResourcesFactory;
 import com.datastax.oss.kaap.crds.GlobalSpec;
@@ -67,7 +68,14 @@ public class AutorecoveryResourcesFactory extends BaseResourcesFactory<Autorecov
     public AutorecoveryResourcesFactory(KubernetesClient client, String namespace,
                                         AutorecoverySpec spec, GlobalSpec global,
                                         OwnerReference ownerReference) {
-        super(client, namespace, getResourceName(global, getComponentBaseName(global)), spec, global, ownerReference);
+        this(client, null, namespace, spec, global, ownerReference);
+    }
+
+    public AutorecoveryResourcesFactory(KubernetesClient client, KubernetesResourcesCache resourcesCache, String namespace,
+                                        AutorecoverySpec spec, GlobalSpec global,
+                                        OwnerReference ownerReference) {
+        super(client, resourcesCache, namespace, getResourceName(global, getComponentBaseName(global)), spec, global,
+                ownerReference);
     }
 
     @Override
@@ -19,6 +19,7 @@ import com.datastax.oss.kaap.controllers.AbstractController;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
 import com.datastax.oss.kaap.crds.bastion.Bastion;
 import com.datastax.oss.kaap.crds.bastion.BastionFullSpec;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
@@ -35,6 +36,11 @@ public class BastionController extends AbstractController<Bastion> {
         super(client);
     }
 
+    @Override
+    protected List<Class<? extends HasMetadata>> getSecondaryResourceClasses() {
+        return List.of(Deployment.class);
+    }
+
     @Override
     protected ReconciliationResult patchResources(Bastion resource, Context<Bastion> context) throws Exception {
         final String namespace = resource.getMetadata().getNamespace();
@@ -42,7 +48,7 @@ public class BastionController extends AbstractController<Bastion> {
 
         final BastionResourcesFactory
                 resourcesFactory = new BastionResourcesFactory(
-                client, namespace, spec.getBastion(), spec.getGlobal(), getOwnerReference(resource));
+                client, resourcesCache, namespace, spec.getBastion(), spec.getGlobal(), getOwnerReference(resource));
 
         if (!areSpecChanged(resource)) {
             return checkReady(resource, resourcesFactory);
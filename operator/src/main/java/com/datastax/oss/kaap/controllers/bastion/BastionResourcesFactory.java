@@ -15,6 +15,7 @@
  */
 package com.datastax.oss.kaap.controllers.bastion;
 
+import com.datastax.oss.kaap.KubernetesResourcesCache;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.bastion.BastionSpec;
@@ -64,7 +65,14 @@ public class BastionResourcesFactory extends BaseResourcesFactory<BastionSpec> {
     public BastionResourcesFactory(KubernetesClient client, String namespace,
                                    BastionSpec spec, GlobalSpec global,
                                    OwnerReference ownerReference) {
-        super(client, namespace, getResourceName(global, getComponentBaseName(global)), spec, global, ownerReference);
+        this(client, null, namespace, spec, global, ownerReference);
+    }
+
+    public BastionResourcesFactory(KubernetesClient client, KubernetesResourcesCache resourcesCache, String namespace,
+                                   BastionSpec spec, GlobalSpec global,
+                                   OwnerReference ownerReference) {
+        super(client, resourcesCache, namespace, getResourceName(global, getComponentBaseName(global)), spec, global,
+                ownerReference);
     }
 
     @Override
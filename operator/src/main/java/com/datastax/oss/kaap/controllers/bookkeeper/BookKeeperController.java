@@ -18,12 +18,12 @@ package com.datastax.oss.kaap.controllers.bookkeeper;
 import com.datastax.oss.kaap.autoscaler.bookkeeper.BookieAdminClient;
 import com.datastax.oss.kaap.autoscaler.bookkeeper.BookieDecommissionUtil;
 import com.datastax.oss.kaap.autoscaler.bookkeeper.PodExecBookieAdminClient;
-import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.common.json.JSONComparator;
 import com.datastax.oss.kaap.controllers.AbstractResourceSetsController;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
 import com.datastax.oss.kaap.controllers.bookkeeper.racks.BookKeeperRackDaemon;
 import com.datastax.oss.kaap.controllers.bookkeeper.racks.client.ZkClientRackClientFactory;
+import com.datastax.oss.kaap.controllers.utils.SetSpecsResolver;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.SpecDiffer;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeper;
@@ -31,6 +31,7 @@ import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperFullSpec;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSetSpec;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSpec;
 import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -78,7 +79,8 @@ public class BookKeeperController extends
     }
 
     public static LinkedHashMap<String, BookKeeperSetSpec> getBookKeeperSetSpecs(BookKeeperSpec spec) {
-        return new BookKeeperController(null).getSetSpecs(spec);
+        return SetSpecsResolver.resolve(spec, BookKeeperSpec::getSets,
+                BookKeeperResourcesFactory.BOOKKEEPER_DEFAULT_SET);
     }
 
     @Data
@@ -96,6 +98,11 @@ public class BookKeeperController extends
         bkRackDaemon = this.initBookKeeperRackDaemon(client);
     }
 
+    @Override
+    protected List<Class<? extends HasMetadata>> getSecondaryResourceClasses() {
+        return List.of(StatefulSet.class);
+    }
+
     protected BookKeeperRackDaemon initBookKeeperRackDaemon(KubernetesClient client) {
         return new BookKeeperRackDaemon(client, new ZkClientRackClientFactory(client));
     }
@@ -108,11 +115,15 @@ public class BookKeeperController extends
     @Override
     protected void patchResourceSet(SetInfo<BookKeeperSetSpec, BookKeeperResourcesFactory> set) {
         final BookKeeperResourcesFactory resourcesFactory = set.getResourceFactory();
-        resourcesFactory.patchPodDisruptionBudget();
-        resourcesFactory.patchConfigMap();
-        resourcesFactory.patchStorageClasses();
-        resourcesFactory.patchStatefulSet();
-        resourcesFactory.patchService();
+        runConcurrently(
+                resourcesFactory::patchPodDisruptionBudget,
+                () -> {
+                    // the statefulset carries the checksum of the configmap and claims the storage classes
+                    runConcurrently(resourcesFactory::patchConfigMap, resourcesFactory::patchStorageClasses);
+                    resourcesFactory.patchStatefulSet();
+                },
+                resourcesFactory::patchService
+        );
     }
 
     @Override
@@ -192,7 +203,8 @@ public class BookKeeperController extends
     @Override
     protected BookKeeperResourcesFactory newFactory(OwnerReference ownerReference, String namespace, String setName,
                                                     BookKeeperSetSpec setSpec, GlobalSpec globalSpec) {
-        return new BookKeeperResourcesFactory(client, namespace, setName, setSpec, globalSpec, ownerReference);
+        return new BookKeeperResourcesFactory(client, resourcesCache, namespace, setName, setSpec, globalSpec,
+                ownerReference);
     }
 
     @Override
@@ -200,17 +212,8 @@ public class BookKeeperController extends
             BookKeeper resource, SetInfo<BookKeeperSetSpec, BookKeeperResourcesFactory> setInfo,
             BookKeeperFullSpec spec,
             BookKeeperFullSpec lastApplied) {
-        if (spec.getBookkeeper().getSets() != null) {
-            spec = SerializationUtil.deepCloneObject(spec);
-            spec.getBookkeeper().getSets().entrySet()
-                    .removeIf(e -> !e.getKey().equals(setInfo.getName()));
-        }
-
-        if (lastApplied != null && lastApplied.getBookkeeper().getSets() != null) {
-            lastApplied = SerializationUtil.deepCloneObject(lastApplied);
-            lastApplied.getBookkeeper().getSets().entrySet()
-                    .removeIf(e -> !e.getKey().equals(setInfo.getName()));
-        }
+        spec = getSetFullSpec(spec, setInfo.getName());
+        lastApplied = getSetFullSpec(lastApplied, setInfo.getName());
         final JSONComparator.Result result = SpecDiffer.generateDiff(lastApplied, spec);
         if (!result.areEquals()) {
             if (lastApplied != null) {
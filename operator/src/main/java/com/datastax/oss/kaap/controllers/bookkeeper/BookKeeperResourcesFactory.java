@@ -15,6 +15,7 @@
  */
 package com.datastax.oss.kaap.controllers.bookkeeper;
 
+import com.datastax.oss.kaap.KubernetesResourcesCache;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.GlobalSpec;
@@ -104,7 +105,15 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
                                       String bookkeeperSetName,
                                       BookKeeperSetSpec spec, GlobalSpec global,
                                       OwnerReference ownerReference) {
-        super(client, namespace, getResourceName(global.getName(),
+        this(client, null, namespace, bookkeeperSetName, spec, global, ownerReference);
+    }
+
+    public BookKeeperResourcesFactory(KubernetesClient client, KubernetesResourcesCache resourcesCache,
+                                      String namespace,
+                                      String bookkeeperSetName,
+                                      BookKeeperSetSpec spec, GlobalSpec global,
+                                      OwnerReference ownerReference) {
+        super(client, resourcesCache, namespace, getResourceName(global.getName(),
                         getComponentBaseName(global), bookkeeperSetName, spec.getOverrideResourceName()), spec, global,
                 ownerReference);
         this.bookkeeperSet = bookkeeperSetName;
@@ -480,21 +489,27 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
         final String journalPvPrefix = getJournalPvPrefix(spec, resourceName);
         final String ledgersPvPrefix = getLedgersPvPrefix(spec, resourceName);
         final AtomicInteger pvcCount = new AtomicInteger(0);
-        client.persistentVolumeClaims()
-                .inNamespace(namespace)
-                .withLabels(getLabels(spec.getLabels()))
-                .list().getItems().forEach(pvc -> {
-                    String name = pvc.getMetadata().getName();
-                    if (name.startsWith(journalPvPrefix)
-                            || name.startsWith(ledgersPvPrefix)) {
-                        int idx = Integer.parseInt(name.substring(name.lastIndexOf('-') + 1));
-                        if (idx >= spec.getReplicas()) {
-                            log.infof("Force deletion of bookie pvc: %s", name);
-                            client.resource(pvc).delete();
-                            pvcCount.incrementAndGet();
-                        }
-                    }
-                });
+        final Map<String, String> labels = getLabels(spec.getLabels());
+        List<PersistentVolumeClaim> pvcs = resourcesCache == null
+                ? null : resourcesCache.list(PersistentVolumeClaim.class, namespace, labels);
+        if (pvcs == null) {
+            pvcs = client.persistentVolumeClaims()
+                    .inNamespace(namespace)
+                    .withLabels(labels)
+                    .list().getItems();
+        }
+        pvcs.forEach(pvc -> {
+            String name = pvc.getMetadata().getName();
+            if (name.startsWith(journalPvPrefix)
+                    || name.startsWith(ledgersPvPrefix)) {
+                int idx = Integer.parseInt(name.substring(name.lastIndexOf('-') + 1));
+                if (idx >= spec.getReplicas()) {
+                    log.infof("Force deletion of bookie pvc: %s", name);
+                    client.resource(pvc).delete();
+                    pvcCount.incrementAndGet();
+                }
+            }
+        });
         return pvcCount.get();
     }
 }
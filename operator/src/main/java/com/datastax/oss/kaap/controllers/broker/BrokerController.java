@@ -15,18 +15,20 @@
  */
 package com.datastax.oss.kaap.controllers.broker;
 
-import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.common.json.JSONComparator;
 import com.datastax.oss.kaap.controllers.AbstractResourceSetsController;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
+import com.datastax.oss.kaap.controllers.utils.SetSpecsResolver;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.SpecDiffer;
 import com.datastax.oss.kaap.crds.broker.Broker;
 import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
 import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
 import com.datastax.oss.kaap.crds.broker.BrokerSpec;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
 import java.util.ArrayList;
@@ -68,7 +70,7 @@ public class BrokerController extends
     }
 
     public static LinkedHashMap<String, BrokerSetSpec> getBrokerSetSpecs(BrokerSpec spec) {
-        return new BrokerController(null).getSetSpecs(spec);
+        return SetSpecsResolver.resolve(spec, BrokerSpec::getSets, BrokerResourcesFactory.BROKER_DEFAULT_SET);
     }
 
     @Data
@@ -85,6 +87,11 @@ public class BrokerController extends
         super(client);
     }
 
+    @Override
+    protected List<Class<? extends HasMetadata>> getSecondaryResourceClasses() {
+        return List.of(StatefulSet.class, Job.class);
+    }
+
     @Override
     protected String getComponentNameForLogs() {
         return "broker";
@@ -93,11 +100,15 @@ public class BrokerController extends
     @Override
     protected void patchResourceSet(SetInfo<BrokerSetSpec, BrokerResourcesFactory> set) {
         final BrokerResourcesFactory resourcesFactory = set.getResourceFactory();
-        resourcesFactory.patchPodDisruptionBudget();
-        resourcesFactory.patchConfigMap();
-        resourcesFactory.patchStatefulSet();
-        resourcesFactory.patchService();
-
+        runConcurrently(
+                resourcesFactory::patchPodDisruptionBudget,
+                () -> {
+                    // the statefulset carries the checksum of the configmap
+                    resourcesFactory.patchConfigMap();
+                    resourcesFactory.patchStatefulSet();
+                },
+                resourcesFactory::patchService
+        );
     }
 
     @Override
@@ -159,24 +170,16 @@ public class BrokerController extends
     @Override
     protected BrokerResourcesFactory newFactory(OwnerReference ownerReference, String namespace, String setName,
                                                 BrokerSetSpec setSpec, GlobalSpec globalSpec) {
-        return new BrokerResourcesFactory(client, namespace, setName, setSpec, globalSpec, ownerReference);
+        return new BrokerResourcesFactory(client, resourcesCache, namespace, setName, setSpec, globalSpec,
+                ownerReference);
     }
 
     @Override
     protected JSONComparator.Result compareLastAppliedSetSpec(Broker resource,
                                                               SetInfo<BrokerSetSpec, BrokerResourcesFactory> setInfo,
                                                               BrokerFullSpec spec, BrokerFullSpec lastApplied) {
-        if (spec.getBroker().getSets() != null) {
-            spec = SerializationUtil.deepCloneObject(spec);
-            spec.getBroker().getSets().entrySet()
-                    .removeIf(e -> !e.getKey().equals(setInfo.getName()));
-        }
-
-        if (lastApplied != null && lastApplied.getBroker().getSets() != null) {
-            lastApplied = SerializationUtil.deepCloneObject(lastApplied);
-            lastApplied.getBroker().getSets().entrySet()
-                    .removeIf(e -> !e.getKey().equals(setInfo.getName()));
-        }
+        spec = getSetFullSpec(spec, setInfo.getName());
+        lastApplied = getSetFullSpec(lastApplied, setInfo.getName());
         return SpecDiffer.generateDiff(lastApplied, spec);
     }
 
@@ -15,6 +15,7 @@
  */
 package com.datastax.oss.kaap.controllers.broker;
 
+import com.datastax.oss.kaap.KubernetesResourcesCache;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.GlobalSpec;
@@ -81,7 +82,13 @@ public class BrokerResourcesFactory extends BaseResourcesFactory<BrokerSetSpec>
     public BrokerResourcesFactory(KubernetesClient client, String namespace,
                                   String brokerSetName, BrokerSetSpec spec, GlobalSpec global,
                                   OwnerReference ownerReference) {
-        super(client, namespace, getResourceName(global.getName(),
+        this(client, null, namespace, brokerSetName, spec, global, ownerReference);
+    }
+
+    public BrokerResourcesFactory(KubernetesClient client, KubernetesResourcesCache resourcesCache, String namespace,
+                                  String brokerSetName, BrokerSetSpec spec, GlobalSpec global,
+                                  OwnerReference ownerReference) {
+        super(client, resourcesCache, namespace, getResourceName(global.getName(),
                         getComponentBaseName(global), Objects.requireNonNull(brokerSetName),
                         spec.getOverrideResourceName()),
                 spec, global, ownerReference);
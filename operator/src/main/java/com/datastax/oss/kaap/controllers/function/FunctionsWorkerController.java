@@ -19,6 +19,7 @@ import com.datastax.oss.kaap.controllers.AbstractController;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
 import com.datastax.oss.kaap.crds.function.FunctionsWorker;
 import com.datastax.oss.kaap.crds.function.FunctionsWorkerFullSpec;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
@@ -35,6 +36,11 @@ public class FunctionsWorkerController extends AbstractController<FunctionsWorke
         super(client);
     }
 
+    @Override
+    protected List<Class<? extends HasMetadata>> getSecondaryResourceClasses() {
+        return List.of(StatefulSet.class);
+    }
+
     @Override
     protected ReconciliationResult patchResources(FunctionsWorker resource, Context<FunctionsWorker> context) throws Exception {
         final String namespace = resource.getMetadata().getNamespace();
@@ -42,7 +48,8 @@ public class FunctionsWorkerController extends AbstractController<FunctionsWorke
 
         final FunctionsWorkerResourcesFactory
                 resourcesFactory = new FunctionsWorkerResourcesFactory(
-                client, namespace, spec.getFunctionsWorker(), spec.getGlobal(), getOwnerReference(resource));
+                client, resourcesCache, namespace, spec.getFunctionsWorker(), spec.getGlobal(),
+                getOwnerReference(resource));
 
 
         if (!areSpecChanged(resource)) {
@@ -15,6 +15,7 @@
  */
 package com.datastax.oss.kaap.controllers.function;
 
+import com.datastax.oss.kaap.KubernetesResourcesCache;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
 import com.datastax.oss.kaap.crds.GlobalSpec;
@@ -91,7 +92,14 @@ public class FunctionsWorkerResourcesFactory extends BaseResourcesFactory<Functi
     public FunctionsWorkerResourcesFactory(KubernetesClient client, String namespace,
                                            FunctionsWorkerSpec spec, GlobalSpec global,
                                            OwnerReference ownerReference) {
-        super(client, namespace, getResourceName(global, getComponentBaseName(global)), spec, global, ownerReference);
+        this(client, null, namespace, spec, global, ownerReference);
+    }
+
+    public FunctionsWorkerResourcesFactory(KubernetesClient client, KubernetesResourcesCache resourcesCache, String namespace,
+                                           FunctionsWorkerSpec spec, GlobalSpec global,
+                                           OwnerReference ownerReference) {
+        super(client, resourcesCache, namespace, getResourceName(global, getComponentBaseName(global)), spec, global,
+                ownerReference);
     }
 
     @Override
@@ -15,16 +15,17 @@
  */
 package com.datastax.oss.kaap.controllers.proxy;
 
-import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.common.json.JSONComparator;
 import com.datastax.oss.kaap.controllers.AbstractResourceSetsController;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
+import com.datastax.oss.kaap.controllers.utils.SetSpecsResolver;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.SpecDiffer;
 import com.datastax.oss.kaap.crds.proxy.Proxy;
 import com.datastax.oss.kaap.crds.proxy.ProxyFullSpec;
 import com.datastax.oss.kaap.crds.proxy.ProxySetSpec;
 import com.datastax.oss.kaap.crds.proxy.ProxySpec;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -62,7 +63,7 @@ public class ProxyController
     }
 
     public static LinkedHashMap<String, ProxySetSpec> getProxySetSpecs(ProxySpec proxy) {
-        return new ProxyController(null).getSetSpecs(proxy);
+        return SetSpecsResolver.resolve(proxy, ProxySpec::getSets, ProxyResourcesFactory.PROXY_DEFAULT_SET);
     }
 
     @Data
@@ -83,6 +84,11 @@ public class ProxyController
         super(client);
     }
 
+    @Override
+    protected List<Class<? extends HasMetadata>> getSecondaryResourceClasses() {
+        return List.of(Deployment.class);
+    }
+
     @Override
     protected String getComponentNameForLogs() {
         return "proxy";
@@ -101,11 +107,16 @@ public class ProxyController
     @Override
     protected void patchResourceSet(SetInfo<ProxySetSpec, ProxyResourcesFactory> set) {
         final ProxyResourcesFactory resourceFactory = set.getResourceFactory();
-        resourceFactory.patchPodDisruptionBudget();
-        resourceFactory.patchConfigMap();
-        resourceFactory.patchConfigMapWsConfig();
-        resourceFactory.patchService();
-        resourceFactory.patchDeployment();
+        runConcurrently(
+                resourceFactory::patchPodDisruptionBudget,
+                () -> {
+                    // the deployment carries the checksums of both configmaps
+                    resourceFactory.patchConfigMap();
+                    resourceFactory.patchConfigMapWsConfig();
+                    resourceFactory.patchDeployment();
+                },
+                resourceFactory::patchService
+        );
     }
 
     @Override
@@ -156,7 +167,7 @@ public class ProxyController
     protected ProxyResourcesFactory newFactory(OwnerReference ownerReference, String namespace, String setName,
                                                ProxySetSpec setSpec, GlobalSpec globalSpec) {
         return new ProxyResourcesFactory(
-                client, namespace, setName, setSpec,
+                client, resourcesCache, namespace, setName, setSpec,
                 globalSpec, ownerReference);
     }
 
@@ -173,17 +184,8 @@ public class ProxyController
     protected JSONComparator.Result compareLastAppliedSetSpec(Proxy proxy,
                                                               SetInfo<ProxySetSpec, ProxyResourcesFactory> info,
                                                               ProxyFullSpec spec, ProxyFullSpec lastApplied) {
-        if (spec.getProxy().getSets() != null) {
-            spec = SerializationUtil.deepCloneObject(spec);
-            spec.getProxy().getSets().entrySet()
-                    .removeIf(e -> !e.getKey().equals(info.getName()));
-        }
-
-        if (lastApplied != null && lastApplied.getProxy().getSets() != null) {
-            lastApplied = SerializationUtil.deepCloneObject(lastApplied);
-            lastApplied.getProxy().getSets().entrySet()
-                    .removeIf(e -> !e.getKey().equals(info.getName()));
-        }
+        spec = getSetFullSpec(spec, info.getName());
+        lastApplied = getSetFullSpec(lastApplied, info.getName());
         return SpecDiffer.generateDiff(lastApplied, spec);
     }
 }
@@ -15,6 +15,7 @@
  */
 package com.datastax.oss.kaap.controllers.proxy;
 
+import com.datastax.oss.kaap.KubernetesResourcesCache;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
 import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
 import com.datastax.oss.kaap.crds.CRDConstants;
@@ -117,7 +118,15 @@ public class ProxyResourcesFactory extends BaseResourcesFactory<ProxySetSpec> {
                                  String proxySetName,
                                  ProxySetSpec spec, GlobalSpec global,
                                  OwnerReference ownerReference) {
-        super(client, namespace, getResourceName(global, getComponentBaseName(global), proxySetName, spec), spec,
+        this(client, null, namespace, proxySetName, spec, global, ownerReference);
+    }
+
+    public ProxyResourcesFactory(KubernetesClient client, KubernetesResourcesCache resourcesCache, String namespace,
+                                 String proxySetName,
+                                 ProxySetSpec spec, GlobalSpec global,
+                                 OwnerReference ownerReference) {
+        super(client, resourcesCache, namespace, getResourceName(global, getComponentBaseName(global), proxySetName,
+                        spec), spec,
                 global,
                 ownerReference);
         this.proxySet = proxySetName;
@@ -0,0 +1,117 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers.utils;
+
+import io.micrometer.core.instrument.Metrics;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import lombok.SneakyThrows;
+import lombok.extern.jbosslog.JBossLog;
+
+/**
+ * Runs the cluster components as soon as the components they depend on are ready.
+ * Independent components run concurrently; a component is skipped if any of its dependencies is not ready.
+ */
+@JBossLog
+public class ComponentDependencyGraph {
+
+    public static final String COMPONENT_TIMER_METRIC = "kaap.cluster.component.reconcile";
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    public enum ComponentState {
+        READY,
+        NOT_READY,
+        SKIPPED
+    }
+
+    private record Component(String name, BooleanSupplier checkReadyOrPatch, List<String> dependsOn) {
+    }
+
+    private final Map<String, Component> components = new LinkedHashMap<>();
+
+    public ComponentDependencyGraph addComponent(String name, BooleanSupplier checkReadyOrPatch,
+                                                 String... dependsOn) {
+        if (components.containsKey(name)) {
+            throw new IllegalArgumentException("Component " + name + " already defined");
+        }
+        // dependencies must be declared first, this way the graph can't have cycles
+        for (String dependency : dependsOn) {
+            if (!components.containsKey(dependency)) {
+                throw new IllegalArgumentException("Component " + name + " depends on unknown component "
+                        + dependency);
+            }
+        }
+        components.put(name, new Component(name, checkReadyOrPatch, List.of(dependsOn)));
+        return this;
+    }
+
+    @SneakyThrows
+    public Map<String, ComponentState> execute() {
+        final Map<String, CompletableFuture<ComponentState>> futures = new LinkedHashMap<>();
+        for (Component component : components.values()) {
+            final List<CompletableFuture<ComponentState>> dependencies = component.dependsOn()
+                    .stream()
+                    .map(futures::get)
+                    .toList();
+            final CompletableFuture<ComponentState> future = CompletableFuture
+                    .allOf(dependencies.toArray(new CompletableFuture<?>[0]))
+                    .thenApplyAsync(ignore -> {
+                        final boolean dependenciesReady = dependencies.stream()
+                                .allMatch(d -> d.join() == ComponentState.READY);
+                        if (!dependenciesReady) {
+                            return ComponentState.SKIPPED;
+                        }
+                        return run(component) ? ComponentState.READY : ComponentState.NOT_READY;
+                    }, EXECUTOR);
+            futures.put(component.name(), future);
+        }
+
+        final Map<String, ComponentState> result = new LinkedHashMap<>();
+        Throwable error = null;
+        for (Map.Entry<String, CompletableFuture<ComponentState>> entry : futures.entrySet()) {
+            try {
+                result.put(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException ex) {
+                if (error == null) {
+                    error = ex.getCause();
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        return result;
+    }
+
+    private static boolean run(Component component) {
+        final long start = System.nanoTime();
+        try {
+            return component.checkReadyOrPatch().getAsBoolean();
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            Metrics.timer(COMPONENT_TIMER_METRIC, "component", component.name())
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            log.debugf("%s checked in %d ms", component.name(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+}
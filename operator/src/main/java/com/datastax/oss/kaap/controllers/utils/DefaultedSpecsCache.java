@@ -0,0 +1,73 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers.utils;
+
+import com.datastax.oss.kaap.common.SerializationCache;
+import com.datastax.oss.kaap.crds.FullSpecWithDefaults;
+import io.fabric8.kubernetes.client.CustomResource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Specs with the defaults applied, cached by operator version, uid and generation of the resource.
+ * The cached spec is shared by all the reconciliations of the same generation without copying it, so it must be
+ * treated as read-only: the controllers never modify the defaulted spec of the resource they reconcile.
+ */
+public class DefaultedSpecsCache {
+
+    private static final int MAX_ENTRIES = 256;
+    private static final Map<String, Object> CACHE =
+            Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+    private static final String OPERATOR_VERSION =
+            Objects.requireNonNullElse(DefaultedSpecsCache.class.getPackage().getImplementationVersion(), "dev");
+
+    private DefaultedSpecsCache() {
+    }
+
+    /**
+     * Sets the defaulted spec to the resource. The defaults are applied to the resource spec only if the generation
+     * is not cached yet, resources without uid or generation are always defaulted.
+     */
+    public static void applyDefaults(CustomResource<? extends FullSpecWithDefaults, ?> resource,
+                                     Consumer<FullSpecWithDefaults> defaults) {
+        final String key = SerializationCache.getGenerationKey(resource);
+        if (key == null) {
+            defaults.accept(resource.getSpec());
+            return;
+        }
+        final String cacheKey = OPERATOR_VERSION + "/" + key;
+        final Object cached = CACHE.get(cacheKey);
+        if (cached != null && cached.getClass() == resource.getSpec().getClass()) {
+            setSpec(resource, cached);
+            return;
+        }
+        defaults.accept(resource.getSpec());
+        CACHE.put(cacheKey, resource.getSpec());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void setSpec(CustomResource resource, Object spec) {
+        resource.setSpec(spec);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers.utils;
+
+import com.datastax.oss.kaap.common.SerializationCache;
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.SneakyThrows;
+
+/**
+ * Encodes the last applied spec stored in the custom resource status.
+ * The spec is stored as gzipped canonical JSON prefixed by its content hash: <code>v2:&lt;sha256&gt;:&lt;base64&gt;</code>.
+ * The set specs are mostly copies of the common spec, so the compression removes most of the duplication.
+ * Values written by previous versions (plain JSON) are still readable and get rewritten on the next update.
+ */
+public class LastAppliedCodec {
+
+    private static final String PREFIX = "v2:";
+
+    private LastAppliedCodec() {
+    }
+
+    public static String encode(Object spec) {
+        if (spec == null) {
+            return null;
+        }
+        final byte[] json = SerializationUtil.writeAsCanonicalJsonBytes(spec);
+        return PREFIX + SerializationCache.hash(json) + ":" + Base64.getEncoder().encodeToString(gzip(json));
+    }
+
+    public static <T> T decode(String lastApplied, Class<T> toClass) {
+        if (lastApplied == null) {
+            return null;
+        }
+        return SerializationUtil.treeToValue(decodeTree(lastApplied), toClass);
+    }
+
+    /**
+     * The parsed last applied spec. The tree is cached and shared: it must not be modified.
+     */
+    public static JsonNode decodeTree(String lastApplied) {
+        if (lastApplied == null) {
+            return null;
+        }
+        if (!isEncoded(lastApplied)) {
+            return SerializationUtil.readJsonTree(lastApplied);
+        }
+        return SerializationCache.readJsonTree(getContentHash(lastApplied), () -> decodeJson(lastApplied));
+    }
+
+    public static String decodeJson(String lastApplied) {
+        if (lastApplied == null || !isEncoded(lastApplied)) {
+            return lastApplied;
+        }
+        final String payload = lastApplied.substring(lastApplied.indexOf(':', PREFIX.length()) + 1);
+        return new String(gunzip(Base64.getDecoder().decode(payload)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Whether the spec has the same content of the last applied one, without decoding it.
+     * Returns false when it can't be determined by the hash only, e.g. for values written in the legacy format.
+     */
+    public static boolean hasSameContent(String lastApplied, Object spec) {
+        if (spec == null) {
+            return false;
+        }
+        return hasSameContentHash(lastApplied, SerializationCache.canonicalHash(spec));
+    }
+
+    public static boolean hasSameContentHash(String lastApplied, String canonicalHash) {
+        if (lastApplied == null || !isEncoded(lastApplied)) {
+            return false;
+        }
+        return getContentHash(lastApplied).equals(canonicalHash);
+    }
+
+    private static String getContentHash(String lastApplied) {
+        return lastApplied.substring(PREFIX.length(), lastApplied.indexOf(':', PREFIX.length()));
+    }
+
+    public static boolean isEncoded(String lastApplied) {
+        return lastApplied.startsWith(PREFIX);
+    }
+
+    @SneakyThrows
+    private static byte[] gzip(byte[] bytes) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @SneakyThrows
+    private static byte[] gunzip(byte[] bytes) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return gzip.readAllBytes();
+        }
+    }
+}
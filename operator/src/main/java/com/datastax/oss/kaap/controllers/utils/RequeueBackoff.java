@@ -0,0 +1,61 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers.utils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes the requeue delay of each resource.
+ * A progressing resource is requeued after the base delay, a failing one backs off exponentially up to a maximum.
+ * A random jitter is added to the delay so that resources failing or restarting at the same time don't requeue
+ * in lockstep. The delay, jitter included, never exceeds the maximum.
+ */
+public class RequeueBackoff {
+
+    private final Map<String, Integer> consecutiveFailures = new ConcurrentHashMap<>();
+
+    public long nextDelayMillis(String key, boolean failed, int baseSeconds, int maxSeconds, double jitter) {
+        long delayMillis = TimeUnit.SECONDS.toMillis(baseSeconds);
+        final long maxMillis = TimeUnit.SECONDS.toMillis(Math.max(baseSeconds, maxSeconds));
+        if (failed) {
+            final int failures = consecutiveFailures.merge(key, 1, Integer::sum);
+            // cap the shift to avoid overflows, the max delay is reached way before anyway
+            delayMillis = Math.min(delayMillis << Math.min(failures - 1, 30), maxMillis);
+        } else {
+            consecutiveFailures.remove(key);
+        }
+        if (jitter > 0) {
+            delayMillis += (long) (delayMillis * jitter * ThreadLocalRandom.current().nextDouble());
+        }
+        return Math.min(delayMillis, maxMillis);
+    }
+
+    public void reset(String key) {
+        consecutiveFailures.remove(key);
+    }
+
+    public Set<String> getKeys() {
+        return Set.copyOf(consecutiveFailures.keySet());
+    }
+
+    public int getConsecutiveFailures(String key) {
+        return consecutiveFailures.getOrDefault(key, 0);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers.utils;
+
+import com.datastax.oss.kaap.common.SerializationCache;
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.crds.ConfigUtil;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.SneakyThrows;
+
+/**
+ * Resolves the sets of a component spec: every set inherits the values it doesn't define from the component spec.
+ * If no set is defined, the component spec is the only set.
+ * The input spec is not modified and the returned sets are always new copies.
+ * When the spec is the current spec of a resource, the resolution is cached by uid and generation of the resource.
+ */
+public class SetSpecsResolver {
+
+    private static final int MAX_ENTRIES = 256;
+    private static final Map<String, Map<String, ?>> CACHE =
+            Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Map<String, ?>> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+
+    private SetSpecsResolver() {
+    }
+
+    public static <SETSPEC, SPEC extends SETSPEC> LinkedHashMap<String, SETSPEC> resolve(
+            SPEC spec, Function<SPEC, Map<String, SETSPEC>> setsGetter, String defaultSetName) {
+        return resolve(null, null, spec, setsGetter, defaultSetName);
+    }
+
+    /**
+     * Same as {@link #resolve(Object, Function, String)}, the spec must be derived only from the owner spec.
+     * The variant tells apart the different specs derived from the same owner spec,
+     * see {@link SerializationCache#canonicalHash(HasMetadata, String, Object)}.
+     */
+    public static <SETSPEC, SPEC extends SETSPEC> LinkedHashMap<String, SETSPEC> resolve(
+            HasMetadata owner, String variant, SPEC spec, Function<SPEC, Map<String, SETSPEC>> setsGetter,
+            String defaultSetName) {
+        final String generationKey = SerializationCache.getGenerationKey(owner);
+        if (generationKey == null) {
+            return doResolve(SerializationUtil.deepCloneObject(spec), setsGetter, defaultSetName);
+        }
+        final String key = generationKey + "/" + variant + "/" + spec.getClass().getName() + "/" + defaultSetName;
+        Map<String, SETSPEC> resolved = (Map<String, SETSPEC>) CACHE.get(key);
+        if (resolved == null) {
+            // resolved from a copy, the cached sets must not share any object with the caller spec
+            resolved = Collections.unmodifiableMap(
+                    doResolve(SerializationUtil.deepCloneObject(spec), setsGetter, defaultSetName));
+            CACHE.put(key, resolved);
+        }
+        final LinkedHashMap<String, SETSPEC> result = new LinkedHashMap<>();
+        for (Map.Entry<String, SETSPEC> set : resolved.entrySet()) {
+            result.put(set.getKey(), SerializationUtil.deepCloneObject(set.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Resolves a single set against the component spec. The set is modified and may share objects with the spec.
+     */
+    public static <SETSPEC, SPEC extends SETSPEC> SETSPEC resolveSet(SPEC spec, SETSPEC set) {
+        return ConfigUtil.applyDefaultsWithReflection(set, () -> spec);
+    }
+
+    @SneakyThrows
+    private static <SETSPEC, SPEC extends SETSPEC> LinkedHashMap<String, SETSPEC> doResolve(
+            SPEC spec, Function<SPEC, Map<String, SETSPEC>> setsGetter, String defaultSetName) {
+        final Map<String, SETSPEC> sets = setsGetter.apply(spec);
+        final LinkedHashMap<String, SETSPEC> result = new LinkedHashMap<>();
+        if (sets == null || sets.isEmpty()) {
+            final SETSPEC defaultSet = (SETSPEC) spec.getClass().getConstructor().newInstance();
+            result.put(defaultSetName, ConfigUtil.applyDefaultsWithReflection(defaultSet, () -> spec));
+        } else {
+            for (Map.Entry<String, SETSPEC> set : sets.entrySet()) {
+                result.put(set.getKey(), ConfigUtil.applyDefaultsWithReflection(set.getValue(), () -> spec));
+            }
+        }
+        return result;
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+}
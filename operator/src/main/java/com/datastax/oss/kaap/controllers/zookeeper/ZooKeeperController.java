@@ -20,6 +20,7 @@ import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.zookeeper.ZooKeeper;
 import com.datastax.oss.kaap.crds.zookeeper.ZooKeeperFullSpec;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.batch.v1.Job;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -37,13 +38,18 @@ public class ZooKeeperController extends AbstractController<ZooKeeper> {
         super(client);
     }
 
+    @Override
+    protected List<Class<? extends HasMetadata>> getSecondaryResourceClasses() {
+        return List.of(StatefulSet.class, Job.class);
+    }
+
     @Override
     protected ReconciliationResult patchResources(ZooKeeper resource, Context<ZooKeeper> context) throws Exception {
 
         final String namespace = resource.getMetadata().getNamespace();
         final ZooKeeperFullSpec spec = resource.getSpec();
         final ZooKeeperResourcesFactory resourcesFactory = new ZooKeeperResourcesFactory(
-                client, namespace, spec.getZookeeper(), spec.getGlobal(), getOwnerReference(resource));
+                client, resourcesCache, namespace, spec.getZookeeper(), spec.getGlobal(), getOwnerReference(resource));
 
 
         if (!areSpecChanged(resource)) {
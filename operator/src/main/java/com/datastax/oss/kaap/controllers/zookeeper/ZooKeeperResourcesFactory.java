@@ -15,6 +15,7 @@
  */
 package com.datastax.oss.kaap.controllers.zookeeper;
 
+import com.datastax.oss.kaap.KubernetesResourcesCache;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.configs.ProbesConfig;
@@ -92,7 +93,14 @@ public class ZooKeeperResourcesFactory extends BaseResourcesFactory<ZooKeeperSpe
     public ZooKeeperResourcesFactory(KubernetesClient client, String namespace,
                                      ZooKeeperSpec spec, GlobalSpec global,
                                      OwnerReference ownerReference) {
-        super(client, namespace, getResourceName(global, getComponentBaseName(global)), spec, global, ownerReference);
+        this(client, null, namespace, spec, global, ownerReference);
+    }
+
+    public ZooKeeperResourcesFactory(KubernetesClient client, KubernetesResourcesCache resourcesCache, String namespace,
+                                     ZooKeeperSpec spec, GlobalSpec global,
+                                     OwnerReference ownerReference) {
+        super(client, resourcesCache, namespace, getResourceName(global, getComponentBaseName(global)), spec, global,
+                ownerReference);
     }
 
     @Override
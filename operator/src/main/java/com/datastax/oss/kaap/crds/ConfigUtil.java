@@ -15,74 +15,125 @@
  */
 package com.datastax.oss.kaap.crds;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 import lombok.SneakyThrows;
-import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
 
 public class ConfigUtil {
-    private ConfigUtil() {
+
+    private static final ClassValue<DefaultingPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected DefaultingPlan computeValue(Class<?> type) {
+            return new DefaultingPlan(type);
+        }
+    };
+
+    private enum FieldKind {
+        COLLECTION,
+        MAP,
+        VALUE,
+        NESTED
     }
 
-    @SneakyThrows
-    public static <T> T applyDefaultsWithReflection(T object, Supplier<T> defaultObject) {
-        final Class<?> declaringClass;
-        if (object == null) {
-            final T defObject = defaultObject.get();
-            if (defObject == null) {
-                return null;
+    private record FieldPlan(String name, FieldKind kind, MethodHandle setter) {
+    }
+
+    /**
+     * Fields of a class, with their accessors, computed once per class.
+     * Fields are read by name and the most specific declaration wins, as {@link FieldUtils#readField} does.
+     */
+    private static class DefaultingPlan {
+        private final List<FieldPlan> fields = new ArrayList<>();
+        private final Map<String, MethodHandle> getters = new HashMap<>();
+
+        @SneakyThrows
+        DefaultingPlan(Class<?> type) {
+            for (Field field : FieldUtils.getAllFieldsList(type)) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                final MethodHandles.Lookup lookup = MethodHandles.lookup();
+                getters.putIfAbsent(field.getName(), lookup.unreflectGetter(field)
+                        .asType(MethodType.methodType(Object.class, Object.class)));
+                fields.add(new FieldPlan(field.getName(), getKind(field), lookup.unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class))));
             }
-            object = (T) defObject.getClass().getConstructor().newInstance();
-            declaringClass = defObject.getClass();
-        } else {
-            declaringClass = object.getClass();
         }
-        final List<Field> allFields = FieldUtils.getAllFieldsList(declaringClass);
-        for (Field field : allFields) {
-            if (Modifier.isStatic(field.getModifiers())) {
-                continue;
-            }
-            final Object newValue;
 
+        private static FieldKind getKind(Field field) {
             if (Collection.class.isAssignableFrom(field.getType())) {
-                newValue = handleCollections(
-                        (Collection) readField(defaultObject.get(), field.getName()),
-                        (Collection) readField(object, field.getName()));
+                return FieldKind.COLLECTION;
             } else if (Map.class.isAssignableFrom(field.getType())) {
-                newValue = mergeMaps(
-                        (Map) readField(defaultObject.get(), field.getName()),
-                        (Map) readField(object, field.getName()));
+                return FieldKind.MAP;
             } else if (field.getType().getName().startsWith("java.")) {
-                final Object finalObj = object;
-                newValue = ObjectUtils.getFirstNonNull(
-                        () -> readField(finalObj, field.getName()),
-                        () -> readField(defaultObject.get(), field.getName())
-                );
-            } else {
-                newValue = applyDefaultsWithReflection(
-                        readField(object, field.getName()),
-                        () -> readField(defaultObject.get(), field.getName())
-                );
+                return FieldKind.VALUE;
             }
-            FieldUtils.writeField(field, object, newValue, true);
+            return FieldKind.NESTED;
         }
-        return object;
+
+        @SneakyThrows
+        Object read(Object object, String fieldName) {
+            final MethodHandle getter = getters.get(fieldName);
+            if (getter == null) {
+                // not an instance field of this class, let FieldUtils resolve it or fail
+                return FieldUtils.readField(object, fieldName, true);
+            }
+            return (Object) getter.invokeExact(object);
+        }
+    }
+
+    private ConfigUtil() {
+    }
+
+    /**
+     * Fills the null fields of the object with the values of the default object, recursively.
+     * Maps are merged, collections are taken from the object unless empty.
+     * The default object is requested once.
+     */
+    public static <T> T applyDefaultsWithReflection(T object, Supplier<T> defaultObject) {
+        return (T) applyDefaults(object, defaultObject.get());
     }
 
     @SneakyThrows
-    private static Object readField(Object object, String fieldName) {
+    private static Object applyDefaults(Object object, Object defaultObject) {
         if (object == null) {
-            return null;
+            if (defaultObject == null) {
+                return null;
+            }
+            object = defaultObject.getClass().getConstructor().newInstance();
         }
+        final DefaultingPlan plan = PLANS.get(object.getClass());
+        final DefaultingPlan defaultPlan = defaultObject == null ? null : PLANS.get(defaultObject.getClass());
+        for (FieldPlan field : plan.fields) {
+            final Object value = plan.read(object, field.name());
+            final Object newValue = switch (field.kind()) {
+                case COLLECTION -> handleCollections((Collection) readDefault(defaultPlan, defaultObject, field),
+                        (Collection) value);
+                case MAP -> mergeMaps((Map) readDefault(defaultPlan, defaultObject, field), (Map) value);
+                case VALUE -> value != null ? value : readDefault(defaultPlan, defaultObject, field);
+                case NESTED -> applyDefaults(value, readDefault(defaultPlan, defaultObject, field));
+            };
+            field.setter().invokeExact(object, newValue);
+        }
+        return object;
+    }
 
-        final Object res = FieldUtils.readField(object, fieldName, true);
-        return res;
+    private static Object readDefault(DefaultingPlan defaultPlan, Object defaultObject, FieldPlan field) {
+        if (defaultObject == null) {
+            return null;
+        }
+        return defaultPlan.read(defaultObject, field.name());
     }
 
     public static <T> Map<String, T> mergeMaps(Map<String, T> parent, Map<String, T> child) {
@@ -16,14 +16,17 @@
 package com.datastax.oss.kaap.crds;
 
 import com.datastax.oss.kaap.common.SerializationUtil;
-import com.datastax.oss.kaap.common.json.JSONAssertComparator;
 import com.datastax.oss.kaap.common.json.JSONComparator;
+import com.datastax.oss.kaap.common.json.JsonTreeComparator;
+import com.fasterxml.jackson.databind.JsonNode;
 import java.util.List;
 import lombok.extern.jbosslog.JBossLog;
 
 @JBossLog
 public class SpecDiffer {
 
+    private static final JsonTreeComparator COMPARATOR = new JsonTreeComparator();
+
     private static final JSONComparator.Result EXPECTED_WAS_NULL_RESULT = new JSONComparator.Result() {
         @Override
         public boolean areEquals() {
@@ -61,8 +64,7 @@ public class SpecDiffer {
         if (actualJson == null) {
             return ACTUAL_WAS_NULL_RESULT;
         }
-        return new JSONAssertComparator()
-                .compare(expectedJson, actualJson);
+        return COMPARATOR.compare(expectedJson, actualJson);
 
     }
 
@@ -76,9 +78,8 @@ public class SpecDiffer {
         if (actualSpec == null) {
             return ACTUAL_WAS_NULL_RESULT;
         }
-        final String expectedStr = SerializationUtil.writeAsJson(expectedSpec);
-        final String actualStr = SerializationUtil.writeAsJson(actualSpec);
-        return generateDiff(expectedStr, actualStr);
+        return COMPARATOR.compare(SerializationUtil.toJsonTree(expectedSpec),
+                SerializationUtil.toJsonTree(actualSpec));
     }
 
     public static JSONComparator.Result generateDiff(Object expectedSpec, String actualJson) {
@@ -91,8 +92,21 @@ public class SpecDiffer {
         if (actualJson == null) {
             return ACTUAL_WAS_NULL_RESULT;
         }
-        final String expectedStr = SerializationUtil.writeAsJson(expectedSpec);
-        return generateDiff(expectedStr, actualJson);
+        return COMPARATOR.compare(SerializationUtil.toJsonTree(expectedSpec),
+                SerializationUtil.readJsonTree(actualJson));
+    }
+
+    public static JSONComparator.Result generateDiff(Object expectedSpec, JsonNode actualTree) {
+        if (expectedSpec == null && actualTree == null) {
+            return JSONComparator.RESULT_EQUALS;
+        }
+        if (expectedSpec == null) {
+            return EXPECTED_WAS_NULL_RESULT;
+        }
+        if (actualTree == null) {
+            return ACTUAL_WAS_NULL_RESULT;
+        }
+        return COMPARATOR.compare(SerializationUtil.toJsonTree(expectedSpec), actualTree);
     }
 
     public static JSONComparator.Result generateDiff(String expectedJson, Object actualSpec) {
@@ -105,8 +119,8 @@ public class SpecDiffer {
         if (actualSpec == null) {
             return EXPECTED_WAS_NULL_RESULT;
         }
-        final String actualStr = SerializationUtil.writeAsJson(actualSpec);
-        return generateDiff(expectedJson, actualStr);
+        return COMPARATOR.compare(SerializationUtil.readJsonTree(expectedJson),
+                SerializationUtil.toJsonTree(actualSpec));
     }
 
 
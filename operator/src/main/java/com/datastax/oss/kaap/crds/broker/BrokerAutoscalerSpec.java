@@ -18,6 +18,8 @@ package com.datastax.oss.kaap.crds.broker;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
 import io.fabric8.generator.annotation.Max;
 import io.fabric8.generator.annotation.Min;
+import jakarta.validation.constraints.Pattern;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -30,7 +32,50 @@ import lombok.NoArgsConstructor;
 public class BrokerAutoscalerSpec {
 
     public static final String RESOURCE_USAGE_SOURCE_LOAD_BALANCER = "PulsarLBReport";
+    public static final String RESOURCE_USAGE_SOURCE_LOAD_BALANCER_HTTP = "PulsarLBReportHttp";
     public static final String RESOURCE_USAGE_SOURCE_K8S_METRICS = "K8SMetrics";
+    public static final String MISSING_RESOURCES_USAGE_POLICY_ABORT = "Abort";
+    public static final String MISSING_RESOURCES_USAGE_POLICY_SKIP = "Skip";
+    public static final String UTILIZATION_AGGREGATION_LAST = "Last";
+    public static final String UTILIZATION_AGGREGATION_EWMA = "EWMA";
+    public static final String UTILIZATION_AGGREGATION_P90 = "P90";
+    public static final String UTILIZATION_AGGREGATION_MAX = "Max";
+    public static final String RESOURCE_CPU = "cpu";
+    public static final String RESOURCE_MEMORY = "memory";
+    public static final String RESOURCE_DIRECT_MEMORY = "directMemory";
+    public static final String RESOURCE_BANDWIDTH_IN = "bandwidthIn";
+    public static final String RESOURCE_BANDWIDTH_OUT = "bandwidthOut";
+    public static final String RESOURCES_THRESHOLD_POLICY_ANY = "Any";
+    public static final String RESOURCES_THRESHOLD_POLICY_ALL = "All";
+    public static final String RESOURCES_THRESHOLD_POLICY_WEIGHTED = "Weighted";
+    public static final String PREDICTION_MODEL_NONE = "None";
+    public static final String PREDICTION_MODEL_LINEAR_TREND = "LinearTrend";
+    public static final String PREDICTION_MODEL_HOLT_WINTERS = "HoltWinters";
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ResourceThresholdSpec {
+        @Min(0)
+        @Max(1)
+        @jakarta.validation.constraints.Min(0)
+        @jakarta.validation.constraints.Max(1)
+        @JsonPropertyDescription("Usage of the resource, relative to its limit, under which the broker can be "
+                + "scaled down. For 'cpu', default is lowerCpuThreshold.")
+        Double lowerThreshold;
+        @Min(0)
+        @Max(1)
+        @jakarta.validation.constraints.Min(0)
+        @jakarta.validation.constraints.Max(1)
+        @JsonPropertyDescription("Usage of the resource, relative to its limit, over which the broker needs to be "
+                + "scaled up. For 'cpu', default is higherCpuThreshold.")
+        Double higherThreshold;
+        @Min(0)
+        @jakarta.validation.constraints.Min(0)
+        @JsonPropertyDescription("Weight of the resource with the 'Weighted' policy. Default is '1'")
+        Double weight;
+    }
 
     @JsonPropertyDescription("Enable autoscaling for brokers.")
     Boolean enabled;
@@ -76,7 +121,81 @@ public class BrokerAutoscalerSpec {
     Long stabilizationWindowMs;
 
     @JsonPropertyDescription("Source for getting the brokers resources usage. "
-            + "Possible values are 'PulsarLBReport' and 'K8SMetrics'. Default is 'PulsarLBReport'")
+            + "Possible values are 'PulsarLBReport', 'PulsarLBReportHttp' and 'K8SMetrics'. "
+            + "'PulsarLBReport' runs curl in the broker container, 'PulsarLBReportHttp' requests the load report "
+            + "directly to the broker web service. Default is 'PulsarLBReport'")
     String resourcesUsageSource;
 
+    @Min(1)
+    @jakarta.validation.constraints.Min(1)
+    @JsonPropertyDescription("Max number of brokers queried at the same time for their resources usage. "
+            + "Not used with the 'K8SMetrics' source. Default is '8'")
+    Integer resourcesUsageParallelism;
+
+    @Min(1000)
+    @jakarta.validation.constraints.Min(1000)
+    @JsonPropertyDescription("Max time in milliseconds to collect the resources usage of all the brokers. "
+            + "Not used with the 'K8SMetrics' source. Default is '30000'")
+    Long resourcesUsageTimeoutMs;
+
+    @JsonPropertyDescription("What to do when the resources usage of a broker can't be collected. "
+            + "Possible values are 'Abort', to skip the autoscaling check, and 'Skip', to decide on the brokers "
+            + "that reported their usage. Default is 'Abort'")
+    String missingResourcesUsagePolicy;
+
+    @JsonPropertyDescription("How the brokers resources usage samples collected in the window are aggregated "
+            + "before comparing them with the thresholds. "
+            + "Possible values are 'Last', to use only the latest sample, 'EWMA', for the exponentially weighted "
+            + "moving average, 'P90', for the 90th percentile, and 'Max'. Default is 'Last'")
+    String utilizationAggregation;
+
+    @Min(1)
+    @jakarta.validation.constraints.Min(1)
+    @JsonPropertyDescription("Number of resources usage samples kept for each broker. The samples are collected at "
+            + "each autoscaling check and dropped after a scale up or down, or when the broker hasn't reported its usage "
+            + "for as many checks. Default is '5'")
+    Integer utilizationWindowSize;
+
+    @Min(0)
+    @Max(1)
+    @jakarta.validation.constraints.Min(0)
+    @jakarta.validation.constraints.Max(1)
+    @JsonPropertyDescription("Weight of the latest sample when the aggregation is 'EWMA'. Default is '0.5'")
+    Double utilizationEwmaAlpha;
+
+    @JsonPropertyDescription("Thresholds of the brokers resources other than cpu, keyed by resource. "
+            + "Possible keys are 'memory', 'directMemory', 'bandwidthIn', 'bandwidthOut' and 'cpu', to override "
+            + "lowerCpuThreshold and higherCpuThreshold or to set the cpu weight. "
+            + "Only the cpu usage is available with the 'K8SMetrics' source.")
+    Map<@Pattern(regexp = RESOURCE_CPU + "|" + RESOURCE_MEMORY + "|" + RESOURCE_DIRECT_MEMORY + "|"
+            + RESOURCE_BANDWIDTH_IN + "|" + RESOURCE_BANDWIDTH_OUT, message = "unknown resource")
+            String, ResourceThresholdSpec> resourceThresholds;
+
+    @JsonPropertyDescription("How the thresholds of the resources are combined to decide whether a broker is "
+            + "overloaded or underloaded. 'Any': overloaded if any resource is above its higher threshold. "
+            + "'All': overloaded if all the resources are above their higher threshold. "
+            + "In both cases the broker is underloaded if all the resources are below their lower threshold. "
+            + "'Weighted': the weighted average of the resources usage, each one scaled so that its lower "
+            + "threshold is 0 and its higher threshold is 1, is compared with 0 and 1. Default is 'Any'")
+    String resourcesThresholdPolicy;
+
+    @JsonPropertyDescription("Model used to project the broker set load and scale up before the thresholds are "
+            + "crossed. Possible values are 'None', to scale only on the current usage, 'LinearTrend' and "
+            + "'HoltWinters', with daily seasonality. 'HoltWinters' needs two days of history to warm up, until "
+            + "then it uses the linear trend. The history is kept in memory by the operator: it's lost when the "
+            + "operator restarts or the autoscaler of the broker set changes. Default is 'None'")
+    String predictionModel;
+
+    @Min(0)
+    @jakarta.validation.constraints.Min(0)
+    @JsonPropertyDescription("How far ahead, in milliseconds, the load is projected. It should cover the time "
+            + "needed by a new broker to be ready and to take load. Default is '300000'")
+    Long predictionLookaheadMs;
+
+    @Min(1000)
+    @jakarta.validation.constraints.Min(1000)
+    @JsonPropertyDescription("How long the load history is kept, in milliseconds. With 'HoltWinters' at least two "
+            + "days are kept. Default is '1800000'")
+    Long predictionHistoryMs;
+
 }
@@ -117,6 +117,16 @@ public class BrokerSetSpec extends BaseComponentSpec<BrokerSetSpec> {
             .scaleUpBy(1)
             .scaleDownBy(1)
             .stabilizationWindowMs(TimeUnit.MINUTES.toMillis(5))
+            .resourcesUsageParallelism(8)
+            .resourcesUsageTimeoutMs(TimeUnit.SECONDS.toMillis(30))
+            .missingResourcesUsagePolicy(BrokerAutoscalerSpec.MISSING_RESOURCES_USAGE_POLICY_ABORT)
+            .utilizationAggregation(BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_LAST)
+            .utilizationWindowSize(5)
+            .utilizationEwmaAlpha(0.5d)
+            .resourcesThresholdPolicy(BrokerAutoscalerSpec.RESOURCES_THRESHOLD_POLICY_ANY)
+            .predictionModel(BrokerAutoscalerSpec.PREDICTION_MODEL_NONE)
+            .predictionLookaheadMs(TimeUnit.MINUTES.toMillis(5))
+            .predictionHistoryMs(TimeUnit.MINUTES.toMillis(30))
             .build();
 
     private static final Supplier<BrokerSpec.TransactionCoordinatorConfig> DEFAULT_TRANSACTION_COORDINATOR_CONFIG =
@@ -0,0 +1,117 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@EnableKubernetesMockClient(https = false, crud = true)
+public class ApiCallsAccountingTest {
+    private static final String NAMESPACE = "ns";
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    @Test
+    public void testAccounting() throws Exception {
+        try (final KubernetesClient accounted = ApiCallsBudget.newAccountedClient(client)) {
+            final Map<String, Integer> calls;
+            try (ApiCallsAccounting.Scope scope = ApiCallsAccounting.open("Broker", "ns/pul")) {
+                accounted.resource(newConfigMap("cm")).inNamespace(NAMESPACE).create();
+                accounted.configMaps().inNamespace(NAMESPACE).withName("cm").get();
+                accounted.configMaps().inNamespace(NAMESPACE).list();
+                // threads started in the reconciliation are accounted too
+                try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                    CompletableFuture.runAsync(() ->
+                            accounted.configMaps().inNamespace(NAMESPACE).withName("cm").delete(), executor).join();
+                }
+                calls = scope.getCalls();
+            }
+            Assertions.assertEquals(Map.of(
+                    "create configmaps", 1,
+                    "get configmaps", 1,
+                    "list configmaps", 1,
+                    "delete configmaps", 1
+            ), calls);
+        }
+    }
+
+    @Test
+    public void testNestedScopes() throws Exception {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try (final KubernetesClient accounted = ApiCallsBudget.newAccountedClient(client)) {
+            final ApiCallsAccounting.Scope outer = ApiCallsAccounting.open("PulsarCluster", "ns/pul");
+            for (int i = 0; i < 2; i++) {
+                final ApiCallsAccounting.Scope inner = ApiCallsAccounting.open("Broker", "ns/pul");
+                accounted.configMaps().inNamespace(NAMESPACE).withName("cm").get();
+                inner.close();
+                Assertions.assertEquals(Map.of("get configmaps", 1), inner.getCalls());
+            }
+            accounted.configMaps().inNamespace(NAMESPACE).list();
+            outer.close();
+            Assertions.assertEquals(Map.of("list configmaps", 1), outer.getCalls());
+
+            final DistributionSummary summary = registry.get(ApiCallsAccounting.RECONCILE_API_CALLS_METRIC)
+                    .tags("controller", "Broker", "verb", "get", "kind", "configmaps")
+                    .summary();
+            Assertions.assertEquals(2, summary.count());
+            Assertions.assertEquals(2, summary.totalAmount());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @Test
+    public void testBudget() throws Exception {
+        try (final KubernetesClient accounted = ApiCallsBudget.newAccountedClient(client)) {
+            ApiCallsBudget.budget()
+                    .allow("create", "configmaps", 1)
+                    .assertWithin(() -> accounted.resource(newConfigMap("cm1")).inNamespace(NAMESPACE).create());
+
+            final AssertionError error = Assertions.assertThrows(AssertionError.class, () ->
+                    ApiCallsBudget.budget()
+                            .allow("get", "configmaps", 1)
+                            .assertWithin(() -> {
+                                accounted.configMaps().inNamespace(NAMESPACE).withName("cm1").get();
+                                accounted.configMaps().inNamespace(NAMESPACE).withName("cm1").get();
+                            }));
+            Assertions.assertTrue(error.getMessage().contains("'get configmaps': 2 calls, budget 1"),
+                    error.getMessage());
+        }
+    }
+
+    private static ConfigMap newConfigMap(String name) {
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(NAMESPACE)
+                .endMetadata()
+                .withData(Map.of("key", "value"))
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Asserts the number of Kubernetes API calls made by a block of code, e.g. against the fabric8 mock server.
+ * The client must be created with {@link #newAccountedClient(KubernetesClient)}.
+ */
+public class ApiCallsBudget {
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private final Map<String, Integer> budgets = new TreeMap<>();
+
+    public static KubernetesClient newAccountedClient(KubernetesClient client) {
+        return new KubernetesClientBuilder()
+                .withConfig(client.getConfiguration())
+                .withHttpClientBuilderConsumer(builder ->
+                        builder.addOrReplaceInterceptor(ApiCallsAccounting.INTERCEPTOR_NAME, new ApiCallsAccounting()))
+                .build();
+    }
+
+    public static ApiCallsBudget budget() {
+        return new ApiCallsBudget();
+    }
+
+    /**
+     * Allow up to max calls, e.g. allow("patch", "statefulsets", 1).
+     */
+    public ApiCallsBudget allow(String verb, String kind, int max) {
+        budgets.put(verb + " " + kind, max);
+        return this;
+    }
+
+    /**
+     * Runs the code and fails if it made a call not allowed or more calls than allowed.
+     * @return the calls made
+     */
+    public Map<String, Integer> assertWithin(ThrowingRunnable runnable) throws Exception {
+        final Map<String, Integer> calls;
+        try (ApiCallsAccounting.Scope scope = ApiCallsAccounting.open("test", "budget")) {
+            runnable.run();
+            calls = scope.getCalls();
+        }
+        calls.forEach((call, count) -> {
+            final Integer max = budgets.get(call);
+            if (max == null || count > max) {
+                throw new AssertionError("API calls budget exceeded for '%s': %d calls, budget %s. All calls: %s"
+                        .formatted(call, count, max == null ? "0" : max, calls));
+            }
+        });
+        return calls;
+    }
+}
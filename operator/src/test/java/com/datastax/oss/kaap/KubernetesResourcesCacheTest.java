@@ -0,0 +1,197 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap;
+
+import com.datastax.oss.kaap.controllers.InMemoryResourceCache;
+import com.datastax.oss.kaap.crds.CRDConstants;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@EnableKubernetesMockClient(https = false, crud = true)
+public class KubernetesResourcesCacheTest {
+    private static final String NAMESPACE = "ns";
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    private void createConfigMap(String name, Map<String, String> labels) {
+        client.resource(new ConfigMapBuilder()
+                        .withNewMetadata()
+                        .withName(name)
+                        .withNamespace(NAMESPACE)
+                        .withLabels(labels)
+                        .endMetadata()
+                        .withData(Map.of("key", "value"))
+                        .build())
+                .inNamespace(NAMESPACE)
+                .create();
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        createConfigMap("pul-broker", Map.of(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE));
+        createConfigMap("other", Map.of(CRDConstants.LABEL_APP, "other"));
+
+        try (final KubernetesResourcesCache cache = new KubernetesResourcesCache(client, true)) {
+            final ConfigMap configMap = cache.get(ConfigMap.class, NAMESPACE, "pul-broker");
+            Assertions.assertEquals("value", configMap.getData().get("key"));
+            configMap.getData().put("key", "changed");
+            Assertions.assertEquals("value",
+                    cache.get(ConfigMap.class, NAMESPACE, "pul-broker").getData().get("key"));
+
+            Assertions.assertNull(cache.get(ConfigMap.class, NAMESPACE, "other"));
+            Assertions.assertNull(cache.get(ConfigMap.class, NAMESPACE, "not-exists"));
+            Assertions.assertNull(cache.get(Pod.class, NAMESPACE, "pul-broker"));
+        }
+    }
+
+    @Test
+    public void testList() throws Exception {
+        createConfigMap("pul-broker", Map.of(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE,
+                CRDConstants.LABEL_COMPONENT, "broker"));
+        createConfigMap("pul-proxy", Map.of(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE,
+                CRDConstants.LABEL_COMPONENT, "proxy"));
+
+        try (final KubernetesResourcesCache cache = new KubernetesResourcesCache(client, true)) {
+            final List<ConfigMap> list = cache.list(ConfigMap.class, NAMESPACE,
+                    Map.of(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE,
+                            CRDConstants.LABEL_COMPONENT, "broker"));
+            Assertions.assertEquals(1, list.size());
+            Assertions.assertEquals("pul-broker", list.get(0).getMetadata().getName());
+            Assertions.assertNull(cache.list(ConfigMap.class, NAMESPACE,
+                    Map.of(CRDConstants.LABEL_COMPONENT, "broker")));
+        }
+    }
+
+    @Test
+    public void testEventSourceCache() throws Exception {
+        final InMemoryResourceCache<ConfigMap> eventSourceCache = new InMemoryResourceCache<>();
+        eventSourceCache.add(new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName("pul-broker")
+                .withNamespace(NAMESPACE)
+                .withLabels(Map.of(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE))
+                .endMetadata()
+                .withData(Map.of("key", "value"))
+                .build());
+
+        try (final KubernetesResourcesCache cache = new KubernetesResourcesCache(client, true)) {
+            cache.registerEventSourceCache(ConfigMap.class, eventSourceCache);
+            // only in the event source cache, no other informer has been started
+            final ConfigMap configMap = cache.get(ConfigMap.class, NAMESPACE, "pul-broker");
+            Assertions.assertEquals("value", configMap.getData().get("key"));
+            configMap.getData().put("key", "changed");
+            Assertions.assertEquals("value",
+                    cache.get(ConfigMap.class, NAMESPACE, "pul-broker").getData().get("key"));
+            Assertions.assertEquals(1, cache.list(ConfigMap.class, NAMESPACE,
+                    Map.of(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE)).size());
+            Assertions.assertNull(cache.get(ConfigMap.class, NAMESPACE, "not-exists"));
+        }
+    }
+
+    @Test
+    public void testEventSourceCachePerController() throws Exception {
+        try (final KubernetesResourcesCache cache = new KubernetesResourcesCache(client, true)) {
+            final KubernetesResourcesCache broker = cache.forController("broker");
+            final KubernetesResourcesCache proxy = cache.forController("proxy");
+            broker.registerEventSourceCache(ConfigMap.class, newEventSourceCache("broker"));
+            proxy.registerEventSourceCache(ConfigMap.class, newEventSourceCache("proxy"));
+
+            Assertions.assertEquals("broker",
+                    broker.get(ConfigMap.class, NAMESPACE, "pul-broker").getData().get("key"));
+            Assertions.assertEquals("proxy",
+                    proxy.get(ConfigMap.class, NAMESPACE, "pul-broker").getData().get("key"));
+            // no event source registered on the root, read from its own informer
+            Assertions.assertNull(cache.get(ConfigMap.class, NAMESPACE, "pul-broker"));
+        }
+    }
+
+    @Test
+    public void testOlderThanWritten() throws Exception {
+        try (final KubernetesResourcesCache cache = new KubernetesResourcesCache(client, true)) {
+            cache.registerEventSourceCache(StatefulSet.class, newStatefulSetCache("uid-1", 1L));
+            Assertions.assertNotNull(cache.get(StatefulSet.class, NAMESPACE, "pul-broker"));
+
+            cache.recordWrite(newStatefulSet("uid-1", 2L));
+            Assertions.assertNull(cache.get(StatefulSet.class, NAMESPACE, "pul-broker"));
+            Assertions.assertNull(cache.list(StatefulSet.class, NAMESPACE,
+                    Map.of(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE)));
+
+            cache.registerEventSourceCache(StatefulSet.class, newStatefulSetCache("uid-1", 2L));
+            Assertions.assertEquals(2L,
+                    cache.get(StatefulSet.class, NAMESPACE, "pul-broker").getMetadata().getGeneration());
+
+            // recreated: a higher generation of the deleted resource is still older
+            cache.recordWrite(newStatefulSet("uid-2", 1L));
+            cache.registerEventSourceCache(StatefulSet.class, newStatefulSetCache("uid-1", 3L));
+            Assertions.assertNull(cache.get(StatefulSet.class, NAMESPACE, "pul-broker"));
+            cache.registerEventSourceCache(StatefulSet.class, newStatefulSetCache("uid-2", 1L));
+            Assertions.assertEquals("uid-2",
+                    cache.get(StatefulSet.class, NAMESPACE, "pul-broker").getMetadata().getUid());
+        }
+    }
+
+    private static InMemoryResourceCache<ConfigMap> newEventSourceCache(String value) {
+        final InMemoryResourceCache<ConfigMap> eventSourceCache = new InMemoryResourceCache<>();
+        eventSourceCache.add(new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName("pul-broker")
+                .withNamespace(NAMESPACE)
+                .withLabels(Map.of(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE))
+                .endMetadata()
+                .withData(Map.of("key", value))
+                .build());
+        return eventSourceCache;
+    }
+
+    private static InMemoryResourceCache<StatefulSet> newStatefulSetCache(String uid, long generation) {
+        final InMemoryResourceCache<StatefulSet> eventSourceCache = new InMemoryResourceCache<>();
+        eventSourceCache.add(newStatefulSet(uid, generation));
+        return eventSourceCache;
+    }
+
+    private static StatefulSet newStatefulSet(String uid, long generation) {
+        return new StatefulSetBuilder()
+                .withNewMetadata()
+                .withName("pul-broker")
+                .withNamespace(NAMESPACE)
+                .withUid(uid)
+                .withGeneration(generation)
+                .withLabels(Map.of(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE))
+                .endMetadata()
+                .build();
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        createConfigMap("pul-broker", Map.of(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE));
+        try (final KubernetesResourcesCache cache = new KubernetesResourcesCache(client, false)) {
+            Assertions.assertNull(cache.get(ConfigMap.class, NAMESPACE, "pul-broker"));
+            Assertions.assertNull(cache.list(ConfigMap.class, NAMESPACE,
+                    Map.of(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE)));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BrokerAutoscalerDaemonTest {
+
+    private static final String NAMESPACE = "ns";
+
+    @Test
+    public void testHistoryKeptForUnchangedSets() throws Exception {
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try (final BrokerAutoscalerDaemon daemon = new BrokerAutoscalerDaemon(null, executor)) {
+            daemon.onSpecChange(newClusterSpec(1), NAMESPACE);
+            final BrokerSetAutoscaler set1 = daemon.getAutoscaler(NAMESPACE, "set1");
+            final BrokerSetAutoscaler set2 = daemon.getAutoscaler(NAMESPACE, "set2");
+            Assertions.assertNotNull(set1);
+            Assertions.assertFalse(set1.isSharingHistory(set2));
+
+            daemon.onSpecChange(newClusterSpec(2), NAMESPACE);
+            Assertions.assertTrue(daemon.getAutoscaler(NAMESPACE, "set1").isSharingHistory(set1));
+            Assertions.assertFalse(daemon.getAutoscaler(NAMESPACE, "set2").isSharingHistory(set2));
+            // another namespace doesn't touch these
+            daemon.onSpecChange(newClusterSpec(1), "other-ns");
+            Assertions.assertTrue(daemon.getAutoscaler(NAMESPACE, "set1").isSharingHistory(set1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static PulsarClusterSpec newClusterSpec(int set2ScaleUpBy) {
+        final PulsarClusterSpec clusterSpec = SerializationUtil.readYaml("""
+                global:
+                   name: pul
+                broker:
+                    autoscaler:
+                        enabled: true
+                        periodMs: 3600000
+                        predictionModel: HoltWinters
+                    sets:
+                        set1: {}
+                        set2:
+                            autoscaler:
+                                enabled: true
+                                periodMs: 3600000
+                                scaleUpBy: %d
+                """.formatted(set2ScaleUpBy), PulsarClusterSpec.class);
+        clusterSpec.getGlobal().applyDefaults(null);
+        clusterSpec.getBroker().applyDefaults(clusterSpec.getGlobalSpec());
+        return clusterSpec;
+    }
+}
@@ -22,6 +22,7 @@ import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
 import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
@@ -160,6 +161,7 @@ public class BrokerAutoscalerTest {
                     .endMetadata()
                     .withContainers(
                             new ContainerMetricsBuilder()
+                                    .withName(sts.getSpec().getTemplate().getSpec().getContainers().get(0).getName())
                                     .withUsage(Map.of("cpu", Quantity.parse("300Mi")))
                                     .build()
                     )
@@ -167,12 +169,6 @@ public class BrokerAutoscalerTest {
             podConf.accept(pod, podMetrics, i);
             pods.add(pod);
             podsMetrics.add(podMetrics);
-
-            server.expect()
-                    .get()
-                    .withPath("/api/v1/namespaces/ns/pods/%s".formatted(podName))
-                    .andReturn(HttpURLConnection.HTTP_OK, pod)
-                    .once();
         }
         final PodList podList = new PodListBuilder()
                 .withItems(pods)
@@ -186,7 +182,7 @@ public class BrokerAutoscalerTest {
                         )
                 )
                 .andReturn(HttpURLConnection.HTTP_OK, podList)
-                .once();
+                .always();
 
         final PodMetricsList podMetricsList = new PodMetricsListBuilder()
                 .withItems(podsMetrics)
@@ -270,6 +266,47 @@ public class BrokerAutoscalerTest {
         Assertions.assertEquals(2, patchOp.getValue());
     }
 
+    @Test
+    public void testScaleUpMultipleContainers() {
+        final String spec = """
+                global:
+                   name: pul
+                broker:
+                    replicas: 3
+                    autoscaler:
+                        enabled: true
+                        resourcesUsageSource: K8SMetrics
+                    resources:
+                        requests:
+                            cpu: 1
+                """;
+        final PatchOp patchOp = runAutoscaler(spec, (pod, metrics, i) -> {
+            if (pod.getSpec().getContainers().size() == 1) {
+                pod.getSpec().getContainers().add(new ContainerBuilder()
+                        .withName("sidecar")
+                        .withNewResources()
+                        .withRequests(Map.of("cpu", Quantity.parse("1")))
+                        .endResources()
+                        .build());
+                // without cpu requests, not considered
+                pod.getSpec().getContainers().add(new ContainerBuilder()
+                        .withName("no-requests")
+                        .build());
+            }
+            metrics.getContainers().get(0).getUsage().put("cpu", Quantity.parse("1.9"));
+            metrics.getContainers().add(new ContainerMetricsBuilder()
+                    .withName("sidecar")
+                    .withUsage(Map.of("cpu", Quantity.parse("0.1")))
+                    .build());
+            metrics.getContainers().add(new ContainerMetricsBuilder()
+                    .withName("no-requests")
+                    .withUsage(Map.of("cpu", Quantity.parse("0.01")))
+                    .build());
+        }, statefulSet -> {
+        });
+        Assertions.assertEquals(4, patchOp.getValue());
+    }
+
     @Test
     public void testStsNotReady() {
         final String spec = """
@@ -0,0 +1,108 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.broker;
+
+import com.datastax.oss.kaap.crds.broker.BrokerAutoscalerSpec;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BrokerLoadForecastTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @Test
+    public void testLinearTrend() {
+        final BrokerLoadForecast forecast = new BrokerLoadForecast(
+                BrokerAutoscalerSpec.PREDICTION_MODEL_LINEAR_TREND, 5 * MINUTE, 30 * MINUTE, MINUTE);
+        forecast.add(0, Map.of(BrokerAutoscalerSpec.RESOURCE_CPU, 1f));
+        forecast.add(MINUTE, Map.of(BrokerAutoscalerSpec.RESOURCE_CPU, 1.1f));
+        // not enough samples
+        Assert.assertEquals(forecast.forecast(), Map.of());
+
+        forecast.add(2 * MINUTE, Map.of(BrokerAutoscalerSpec.RESOURCE_CPU, 1.2f,
+                BrokerAutoscalerSpec.RESOURCE_MEMORY, 0.5f));
+        forecast.add(3 * MINUTE, Map.of(BrokerAutoscalerSpec.RESOURCE_CPU, 1.3f,
+                BrokerAutoscalerSpec.RESOURCE_MEMORY, 0.5f));
+        final Map<String, Float> projected = forecast.forecast();
+        Assert.assertEquals(projected.keySet(), Set.of(BrokerAutoscalerSpec.RESOURCE_CPU));
+        Assert.assertEquals(projected.get(BrokerAutoscalerSpec.RESOURCE_CPU), 1.8f, 0.001f);
+    }
+
+    @Test
+    public void testHistoryDropped() {
+        final BrokerLoadForecast forecast = new BrokerLoadForecast(
+                BrokerAutoscalerSpec.PREDICTION_MODEL_LINEAR_TREND, MINUTE, 3 * MINUTE, MINUTE);
+        // a spike out of the history doesn't affect the projection
+        forecast.add(0, Map.of(BrokerAutoscalerSpec.RESOURCE_CPU, 10f));
+        for (int i = 1; i <= 5; i++) {
+            forecast.add(i * MINUTE, Map.of(BrokerAutoscalerSpec.RESOURCE_CPU, 1f));
+        }
+        Assert.assertEquals(forecast.forecast().get(BrokerAutoscalerSpec.RESOURCE_CPU), 1f, 0.001f);
+    }
+
+    @Test
+    public void testNeverNegative() {
+        final BrokerLoadForecast forecast = new BrokerLoadForecast(
+                BrokerAutoscalerSpec.PREDICTION_MODEL_LINEAR_TREND, 60 * MINUTE, 30 * MINUTE, MINUTE);
+        for (int i = 0; i < 5; i++) {
+            forecast.add(i * MINUTE, Map.of(BrokerAutoscalerSpec.RESOURCE_CPU, 1f - i * 0.2f));
+        }
+        Assert.assertEquals(forecast.forecast().get(BrokerAutoscalerSpec.RESOURCE_CPU), 0f);
+    }
+
+    @Test
+    public void testHoltWintersDailySeasonality() {
+        final long period = TimeUnit.HOURS.toMillis(1);
+        final BrokerLoadForecast forecast = new BrokerLoadForecast(
+                BrokerAutoscalerSpec.PREDICTION_MODEL_HOLT_WINTERS, 2 * period, 0, period);
+        // low at night, ramp at 8 am
+        for (int hour = 0; hour <= 24 * 3 + 6; hour++) {
+            forecast.add(hour * period, Map.of(BrokerAutoscalerSpec.RESOURCE_CPU, dailyLoad(hour % 24)));
+        }
+        // at 6 am the projection for 8 am anticipates the ramp, the linear trend over the night doesn't
+        final float projected = forecast.forecast().get(BrokerAutoscalerSpec.RESOURCE_CPU);
+        Assert.assertEquals(projected, dailyLoad(8), 0.2f);
+    }
+
+    @Test
+    public void testHoltWintersFallbackToLinearTrend() {
+        final BrokerLoadForecast forecast = new BrokerLoadForecast(
+                BrokerAutoscalerSpec.PREDICTION_MODEL_HOLT_WINTERS, 5 * MINUTE, 30 * MINUTE, MINUTE);
+        for (int i = 0; i < 4; i++) {
+            forecast.add(i * MINUTE, Map.of(BrokerAutoscalerSpec.RESOURCE_CPU, 1f + i * 0.1f));
+        }
+        Assert.assertEquals(forecast.forecast().get(BrokerAutoscalerSpec.RESOURCE_CPU), 1.8f, 0.001f);
+    }
+
+    @Test
+    public void testToSlots() {
+        final double[] slots = BrokerLoadForecast.toSlots(
+                new long[]{0, 10, 70, 250}, new double[]{1, 3, 4, 6}, 60);
+        Assert.assertEquals(slots, new double[]{2, 4, 4, 4, 6});
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownModel() {
+        new BrokerLoadForecast("Arima", MINUTE, MINUTE, MINUTE);
+    }
+
+    private static float dailyLoad(int hour) {
+        return hour >= 8 && hour < 20 ? 4f : 1f;
+    }
+}
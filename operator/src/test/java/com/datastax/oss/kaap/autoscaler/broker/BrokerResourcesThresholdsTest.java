@@ -0,0 +1,149 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.broker;
+
+import com.datastax.oss.kaap.crds.broker.BrokerAutoscalerSpec;
+import java.util.Map;
+import java.util.Optional;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BrokerResourcesThresholdsTest {
+
+    private static BrokerAutoscalerSpec spec(String policy) {
+        return BrokerAutoscalerSpec.builder()
+                .lowerCpuThreshold(0.3d)
+                .higherCpuThreshold(0.8d)
+                .resourcesThresholdPolicy(policy)
+                .resourceThresholds(Map.of(
+                        BrokerAutoscalerSpec.RESOURCE_BANDWIDTH_OUT, BrokerAutoscalerSpec.ResourceThresholdSpec.builder()
+                                .lowerThreshold(0.2d)
+                                .higherThreshold(0.6d)
+                                .build()
+                ))
+                .build();
+    }
+
+    private static BrokerResourceUsageSource.ResourceUsage usage(float cpu, float bandwidthOut) {
+        return new BrokerResourceUsageSource.ResourceUsage("pod", Map.of(
+                BrokerAutoscalerSpec.RESOURCE_CPU, cpu,
+                BrokerAutoscalerSpec.RESOURCE_BANDWIDTH_OUT, bandwidthOut));
+    }
+
+    @Test
+    public void testCpuOnly() {
+        final BrokerResourcesThresholds thresholds = new BrokerResourcesThresholds(BrokerAutoscalerSpec.builder()
+                .lowerCpuThreshold(0.3d)
+                .higherCpuThreshold(0.8d)
+                .resourcesThresholdPolicy(BrokerAutoscalerSpec.RESOURCES_THRESHOLD_POLICY_ANY)
+                .build());
+        Assert.assertEquals(thresholds.evaluate(new BrokerResourceUsageSource.ResourceUsage("pod", 0.9f)),
+                Optional.of(true));
+        Assert.assertEquals(thresholds.evaluate(new BrokerResourceUsageSource.ResourceUsage("pod", 0.1f)),
+                Optional.of(false));
+        Assert.assertEquals(thresholds.evaluate(new BrokerResourceUsageSource.ResourceUsage("pod", 0.5f)),
+                Optional.empty());
+        // resources without thresholds are ignored
+        Assert.assertEquals(thresholds.evaluate(usage(0.1f, 0.9f)), Optional.of(false));
+    }
+
+    @Test
+    public void testAny() {
+        final BrokerResourcesThresholds thresholds =
+                new BrokerResourcesThresholds(spec(BrokerAutoscalerSpec.RESOURCES_THRESHOLD_POLICY_ANY));
+        Assert.assertEquals(thresholds.evaluate(usage(0.1f, 0.7f)), Optional.of(true));
+        Assert.assertEquals(thresholds.evaluate(usage(0.9f, 0.1f)), Optional.of(true));
+        Assert.assertEquals(thresholds.evaluate(usage(0.1f, 0.1f)), Optional.of(false));
+        Assert.assertEquals(thresholds.evaluate(usage(0.1f, 0.4f)), Optional.empty());
+        // bandwidthOut not exposed by the source
+        Assert.assertEquals(thresholds.evaluate(new BrokerResourceUsageSource.ResourceUsage("pod", 0.1f)),
+                Optional.of(false));
+    }
+
+    @Test
+    public void testAll() {
+        final BrokerResourcesThresholds thresholds =
+                new BrokerResourcesThresholds(spec(BrokerAutoscalerSpec.RESOURCES_THRESHOLD_POLICY_ALL));
+        Assert.assertEquals(thresholds.evaluate(usage(0.1f, 0.7f)), Optional.empty());
+        Assert.assertEquals(thresholds.evaluate(usage(0.9f, 0.7f)), Optional.of(true));
+        Assert.assertEquals(thresholds.evaluate(usage(0.1f, 0.1f)), Optional.of(false));
+        Assert.assertEquals(thresholds.evaluate(usage(0.1f, 0.4f)), Optional.empty());
+    }
+
+    @Test
+    public void testWeighted() {
+        final BrokerAutoscalerSpec spec = spec(BrokerAutoscalerSpec.RESOURCES_THRESHOLD_POLICY_WEIGHTED);
+        final BrokerResourcesThresholds thresholds = new BrokerResourcesThresholds(spec);
+        // cpu 1.2, bandwidthOut 1
+        Assert.assertEquals(thresholds.evaluate(usage(0.9f, 0.6f)), Optional.of(true));
+        // cpu 1.2, bandwidthOut 0.5
+        Assert.assertEquals(thresholds.evaluate(usage(0.9f, 0.4f)), Optional.empty());
+        // cpu -0.4, bandwidthOut 0.25
+        Assert.assertEquals(thresholds.evaluate(usage(0.1f, 0.3f)), Optional.of(false));
+
+        spec.setResourceThresholds(Map.of(
+                BrokerAutoscalerSpec.RESOURCE_CPU, BrokerAutoscalerSpec.ResourceThresholdSpec.builder()
+                        .weight(0d)
+                        .build(),
+                BrokerAutoscalerSpec.RESOURCE_BANDWIDTH_OUT, BrokerAutoscalerSpec.ResourceThresholdSpec.builder()
+                        .lowerThreshold(0.2d)
+                        .higherThreshold(0.6d)
+                        .build()
+        ));
+        final BrokerResourcesThresholds bandwidthOnly = new BrokerResourcesThresholds(spec);
+        Assert.assertEquals(bandwidthOnly.evaluate(usage(0.1f, 0.7f)), Optional.of(true));
+        Assert.assertEquals(bandwidthOnly.evaluate(usage(0.9f, 0.1f)), Optional.of(false));
+    }
+
+    @Test
+    public void testCpuOverride() {
+        final BrokerAutoscalerSpec spec = spec(BrokerAutoscalerSpec.RESOURCES_THRESHOLD_POLICY_ANY);
+        spec.setResourceThresholds(Map.of(
+                BrokerAutoscalerSpec.RESOURCE_CPU, BrokerAutoscalerSpec.ResourceThresholdSpec.builder()
+                        .higherThreshold(0.95d)
+                        .build()));
+        final BrokerResourcesThresholds thresholds = new BrokerResourcesThresholds(spec);
+        Assert.assertEquals(thresholds.evaluate(new BrokerResourceUsageSource.ResourceUsage("pod", 0.9f)),
+                Optional.empty());
+        Assert.assertEquals(thresholds.evaluate(new BrokerResourceUsageSource.ResourceUsage("pod", 0.2f)),
+                Optional.of(false));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownResource() {
+        final BrokerAutoscalerSpec spec = spec(BrokerAutoscalerSpec.RESOURCES_THRESHOLD_POLICY_ANY);
+        spec.setResourceThresholds(Map.of("msgRateIn", BrokerAutoscalerSpec.ResourceThresholdSpec.builder()
+                .lowerThreshold(0.2d)
+                .higherThreshold(0.6d)
+                .build()));
+        new BrokerResourcesThresholds(spec);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testMissingThreshold() {
+        final BrokerAutoscalerSpec spec = spec(BrokerAutoscalerSpec.RESOURCES_THRESHOLD_POLICY_ANY);
+        spec.setResourceThresholds(Map.of(BrokerAutoscalerSpec.RESOURCE_MEMORY,
+                BrokerAutoscalerSpec.ResourceThresholdSpec.builder()
+                        .higherThreshold(0.6d)
+                        .build()));
+        new BrokerResourcesThresholds(spec);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownPolicy() {
+        new BrokerResourcesThresholds(spec("Majority"));
+    }
+}
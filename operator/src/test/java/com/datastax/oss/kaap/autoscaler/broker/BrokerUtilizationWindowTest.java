@@ -0,0 +1,136 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.broker;
+
+import com.datastax.oss.kaap.crds.broker.BrokerAutoscalerSpec;
+import java.util.List;
+import java.util.Map;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BrokerUtilizationWindowTest {
+
+    @Test
+    public void testLast() {
+        final BrokerUtilizationWindow window =
+                new BrokerUtilizationWindow(BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_LAST, 3, 0.5d);
+        assertCpu(window.addAndAggregate(usages(0.9f, 0.1f)), 0.9f, 0.1f);
+        assertCpu(window.addAndAggregate(usages(0.2f, 0.3f)), 0.2f, 0.3f);
+    }
+
+    @Test
+    public void testMax() {
+        final BrokerUtilizationWindow window =
+                new BrokerUtilizationWindow(BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_MAX, 3, 0.5d);
+        assertCpu(window.addAndAggregate(usages(0.9f, 0.1f)), 0.9f, 0.1f);
+        assertCpu(window.addAndAggregate(usages(0.2f, 0.3f)), 0.9f, 0.3f);
+        assertCpu(window.addAndAggregate(usages(0.2f, 0.2f)), 0.9f, 0.3f);
+        // the first sample is out of the window
+        assertCpu(window.addAndAggregate(usages(0.2f, 0.2f)), 0.2f, 0.3f);
+    }
+
+    @Test
+    public void testEwma() {
+        final BrokerUtilizationWindow window =
+                new BrokerUtilizationWindow(BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_EWMA, 5, 0.5d);
+        assertCpu(window.addAndAggregate(usages(0.8f)), 0.8f);
+        assertCpu(window.addAndAggregate(usages(0.4f)), 0.6f);
+        assertCpu(window.addAndAggregate(usages(0.2f)), 0.4f);
+    }
+
+    @Test
+    public void testP90() {
+        final BrokerUtilizationWindow window =
+                new BrokerUtilizationWindow(BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_P90, 10, 0.5d);
+        for (int i = 1; i <= 10; i++) {
+            window.addAndAggregate(usages(i / 10f));
+        }
+        assertCpu(window.addAndAggregate(usages(0.05f)), 0.9f);
+    }
+
+    @Test
+    public void testBrokersChanged() {
+        final BrokerUtilizationWindow window =
+                new BrokerUtilizationWindow(BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_MAX, 3, 0.5d);
+        window.addAndAggregate(usages(0.9f, 0.9f));
+        final List<BrokerResourceUsageSource.ResourceUsage> result = window.addAndAggregate(
+                List.of(new BrokerResourceUsageSource.ResourceUsage("pod-1", 0.1f),
+                        new BrokerResourceUsageSource.ResourceUsage("pod-2", 0.2f)));
+        Assert.assertEquals(result.get(0).getPod(), "pod-1");
+        assertCpu(result, 0.9f, 0.2f);
+
+        // pod-0 was missing from a single sample, e.g. with the Skip policy: its samples are kept
+        assertCpu(window.addAndAggregate(usages(0.1f, 0.1f)), 0.9f, 0.9f);
+
+        // pod-2 is gone: once it's been missing for the window size its samples are dropped
+        window.addAndAggregate(usages(0.1f, 0.1f));
+        window.addAndAggregate(usages(0.1f, 0.1f));
+        assertCpu(window.addAndAggregate(List.of(new BrokerResourceUsageSource.ResourceUsage("pod-2", 0.1f))),
+                0.1f);
+    }
+
+    @Test
+    public void testBrokerMissingLessThanWindow() {
+        final BrokerUtilizationWindow window =
+                new BrokerUtilizationWindow(BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_MAX, 3, 0.5d);
+        window.addAndAggregate(usages(0.1f, 0.9f));
+        window.addAndAggregate(usages(0.1f));
+        window.addAndAggregate(usages(0.1f));
+        assertCpu(window.addAndAggregate(usages(0.1f, 0.2f)), 0.1f, 0.9f);
+    }
+
+    @Test
+    public void testMultipleResources() {
+        final BrokerUtilizationWindow window =
+                new BrokerUtilizationWindow(BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_MAX, 3, 0.5d);
+        window.addAndAggregate(List.of(new BrokerResourceUsageSource.ResourceUsage("pod-0",
+                Map.of(BrokerAutoscalerSpec.RESOURCE_CPU, 0.9f, BrokerAutoscalerSpec.RESOURCE_MEMORY, 0.2f))));
+        final List<BrokerResourceUsageSource.ResourceUsage> result =
+                window.addAndAggregate(List.of(new BrokerResourceUsageSource.ResourceUsage("pod-0",
+                        Map.of(BrokerAutoscalerSpec.RESOURCE_CPU, 0.1f, BrokerAutoscalerSpec.RESOURCE_MEMORY, 0.5f))));
+        Assert.assertEquals(result.get(0).getPercentUsages(),
+                Map.of(BrokerAutoscalerSpec.RESOURCE_CPU, 0.9f, BrokerAutoscalerSpec.RESOURCE_MEMORY, 0.5f));
+    }
+
+    @Test
+    public void testClear() {
+        final BrokerUtilizationWindow window =
+                new BrokerUtilizationWindow(BrokerAutoscalerSpec.UTILIZATION_AGGREGATION_MAX, 3, 0.5d);
+        window.addAndAggregate(usages(0.9f));
+        window.clear();
+        assertCpu(window.addAndAggregate(usages(0.1f)), 0.1f);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownAggregation() {
+        new BrokerUtilizationWindow("Avg", 3, 0.5d);
+    }
+
+    private static List<BrokerResourceUsageSource.ResourceUsage> usages(float... cpus) {
+        final BrokerResourceUsageSource.ResourceUsage[] usages = new BrokerResourceUsageSource.ResourceUsage[cpus.length];
+        for (int i = 0; i < cpus.length; i++) {
+            usages[i] = new BrokerResourceUsageSource.ResourceUsage("pod-" + i, cpus[i]);
+        }
+        return List.of(usages);
+    }
+
+    private static void assertCpu(List<BrokerResourceUsageSource.ResourceUsage> usages, float... expected) {
+        Assert.assertEquals(usages.size(), expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(usages.get(i).getPercentCpu(), expected[i], 0.0001f);
+        }
+    }
+}
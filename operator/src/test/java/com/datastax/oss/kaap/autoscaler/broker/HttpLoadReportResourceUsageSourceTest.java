@@ -0,0 +1,294 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.broker;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.sun.net.httpserver.HttpServer;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@EnableKubernetesMockClient(https = false)
+public class HttpLoadReportResourceUsageSourceTest {
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+    HttpServer broker;
+    final List<String> authorizations = new CopyOnWriteArrayList<>();
+    final AtomicInteger requests = new AtomicInteger();
+    final AtomicBoolean blockLoadReport = new AtomicBoolean();
+    final AtomicBoolean rejectToken = new AtomicBoolean();
+
+    @BeforeEach
+    public void startBroker() throws Exception {
+        broker = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        broker.createContext("/admin/v2/broker-stats/load-report/", exchange -> {
+            requests.incrementAndGet();
+            if (blockLoadReport.get()) {
+                try {
+                    Thread.sleep(2000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            final String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (authorization != null) {
+                authorizations.add(authorization);
+            }
+            if (rejectToken.get()) {
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_UNAUTHORIZED, -1);
+                exchange.close();
+                return;
+            }
+            final byte[] body = """
+                    {
+                        "cpu": {
+                            "usage": 2.0,
+                            "limit": 8.0
+                        },
+                        "memory": {
+                            "usage": 1536.0,
+                            "limit": 2048.0
+                        },
+                        "directMemory": {
+                            "usage": 512.0,
+                            "limit": 4096.0
+                        },
+                        "bandwidthIn": {
+                            "usage": 100.0,
+                            "limit": -1.0
+                        },
+                        "msgRateIn": 10.0,
+                        "other": {}
+                    }
+                    """.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        broker.start();
+    }
+
+    @AfterEach
+    public void stopBroker() {
+        broker.stop(0);
+        HttpLoadReportResourceUsageSource.retainHttpClients("ns", "pul", List.of());
+    }
+
+    @Test
+    public void testOk() throws Exception {
+        final String spec = """
+                global:
+                   name: pul
+                broker:
+                    replicas: 2
+                    config:
+                        webServicePort: %d
+                    autoscaler:
+                        enabled: true
+                """.formatted(broker.getAddress().getPort());
+
+        final List<BrokerResourceUsageSource.ResourceUsage> brokersResourceUsages =
+                newSource(spec, List.of("pul-broker-0", "pul-broker-1")).getBrokersResourceUsages();
+
+        Assertions.assertEquals(brokersResourceUsages.size(), 2);
+        Assertions.assertEquals(brokersResourceUsages.get(0).getPod(), "pul-broker-0");
+        Assertions.assertEquals(brokersResourceUsages.get(0).getPercentCpu() + "", "0.25");
+        // bandwidthIn has no known limit
+        Assertions.assertEquals(brokersResourceUsages.get(0).getPercentUsages(), Map.of(
+                "cpu", 0.25f,
+                "memory", 0.75f,
+                "directMemory", 0.13f));
+        Assertions.assertEquals(brokersResourceUsages.get(1).getPod(), "pul-broker-1");
+        Assertions.assertEquals(authorizations, List.of());
+    }
+
+    @Test
+    public void testAuthToken() throws Exception {
+        final String spec = """
+                global:
+                   name: pul
+                   auth:
+                      enabled: true
+                broker:
+                    replicas: 1
+                    config:
+                        webServicePort: %d
+                    autoscaler:
+                        enabled: true
+                """.formatted(broker.getAddress().getPort());
+        expectSuperUserToken("my-token");
+        Assertions.assertEquals(newSource(spec, List.of("pul-broker-0")).getBrokersResourceUsages().size(), 1);
+        // the token is cached with the HTTP client, the secret is read only once
+        Assertions.assertEquals(newSource(spec, List.of("pul-broker-0")).getBrokersResourceUsages().size(), 1);
+        Assertions.assertEquals(authorizations, List.of("Bearer my-token", "Bearer my-token"));
+
+        // rotated token: the broker rejects the cached one and the next check reads the secret again
+        rejectToken.set(true);
+        final HttpLoadReportResourceUsageSource rejected = newSource(spec, List.of("pul-broker-0"));
+        Assertions.assertThrows(ExecutionException.class, rejected::getBrokersResourceUsages);
+        rejectToken.set(false);
+        expectSuperUserToken("new-token");
+        Assertions.assertEquals(newSource(spec, List.of("pul-broker-0")).getBrokersResourceUsages().size(), 1);
+        Assertions.assertEquals(authorizations.get(authorizations.size() - 1), "Bearer new-token");
+    }
+
+    private void expectSuperUserToken(String token) {
+        server.expect()
+                .get()
+                .withPath("/api/v1/namespaces/ns/secrets/token-superuser")
+                .andReturn(HttpURLConnection.HTTP_OK, new SecretBuilder()
+                        .withNewMetadata().withName("token-superuser").endMetadata()
+                        .withData(Map.of("superuser.jwt",
+                                Base64.getEncoder().encodeToString((token + "\n").getBytes(StandardCharsets.UTF_8))))
+                        .build())
+                .once();
+    }
+
+    @Test
+    public void testBrokerNotReachable() throws Exception {
+        final String spec = """
+                global:
+                   name: pul
+                broker:
+                    replicas: 1
+                    config:
+                        webServicePort: %d
+                    autoscaler:
+                        enabled: true
+                """.formatted(broker.getAddress().getPort());
+        broker.stop(0);
+
+        final HttpLoadReportResourceUsageSource source = newSource(spec, List.of("pul-broker-0"));
+        Assertions.assertThrows(ExecutionException.class, source::getBrokersResourceUsages);
+    }
+
+    @Test
+    public void testHttpClientReleasedWhenNotAutoscaled() throws Exception {
+        final String spec = """
+                global:
+                   name: pul
+                broker:
+                    replicas: 1
+                    config:
+                        webServicePort: %d
+                    autoscaler:
+                        enabled: true
+                """.formatted(broker.getAddress().getPort());
+        final String key = HttpLoadReportResourceUsageSource.getEndpointKey("ns", "pul",
+                BrokerResourcesFactory.BROKER_DEFAULT_SET);
+        newSource(spec, List.of("pul-broker-0")).getBrokersResourceUsages();
+        final HttpClient httpClient = HttpLoadReportResourceUsageSource.getHttpClient(key);
+        Assertions.assertNotNull(httpClient);
+        newSource(spec, List.of("pul-broker-0")).getBrokersResourceUsages();
+        Assertions.assertSame(HttpLoadReportResourceUsageSource.getHttpClient(key), httpClient);
+
+        HttpLoadReportResourceUsageSource.retainHttpClients("other-ns", "pul", List.of());
+        HttpLoadReportResourceUsageSource.retainHttpClients("ns", "pul",
+                List.of(BrokerResourcesFactory.BROKER_DEFAULT_SET));
+        Assertions.assertSame(HttpLoadReportResourceUsageSource.getHttpClient(key), httpClient);
+
+        final int before = HttpLoadReportResourceUsageSource.getHttpClientsCount();
+        HttpLoadReportResourceUsageSource.retainHttpClients("ns", "pul", List.of("other-set"));
+        Assertions.assertNull(HttpLoadReportResourceUsageSource.getHttpClient(key));
+        Assertions.assertEquals(HttpLoadReportResourceUsageSource.getHttpClientsCount(), before - 1);
+        Assertions.assertTrue(httpClient.awaitTermination(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    public void testRequestTimeoutIsRemainingDeadline() throws Exception {
+        final String spec = """
+                global:
+                   name: pul
+                broker:
+                    replicas: 1
+                    config:
+                        webServicePort: %d
+                    autoscaler:
+                        enabled: true
+                        resourcesUsageTimeoutMs: 60000
+                """.formatted(broker.getAddress().getPort());
+        final HttpLoadReportResourceUsageSource source = newSource(spec, List.of());
+        final Pod pod = new PodBuilder().withNewMetadata().withName("pul-broker-0").endMetadata().build();
+
+        final ExecutionException expired = Assertions.assertThrows(ExecutionException.class,
+                () -> source.requestLoadReport(pod, System.nanoTime()).get());
+        Assertions.assertInstanceOf(TimeoutException.class, expired.getCause());
+        Assertions.assertEquals(requests.get(), 0);
+
+        blockLoadReport.set(true);
+        final long start = System.nanoTime();
+        final ExecutionException timedOut = Assertions.assertThrows(ExecutionException.class,
+                () -> source.requestLoadReport(pod, start + TimeUnit.MILLISECONDS.toNanos(500))
+                        .get(30, TimeUnit.SECONDS));
+        // the request doesn't wait for the whole resourcesUsageTimeoutMs
+        Assertions.assertInstanceOf(HttpTimeoutException.class, timedOut.getCause());
+    }
+
+    private HttpLoadReportResourceUsageSource newSource(String spec, List<String> podNames) {
+        final PulsarClusterSpec pulsarClusterSpec = SerializationUtil.readYaml(spec, PulsarClusterSpec.class);
+        pulsarClusterSpec.getGlobal().applyDefaults(null);
+        pulsarClusterSpec.getBroker().applyDefaults(pulsarClusterSpec.getGlobalSpec());
+
+        final List<Pod> pods = podNames.stream()
+                .map(name -> new PodBuilder().withNewMetadata().withName(name).endMetadata().build())
+                .toList();
+        server.expect()
+                .get()
+                .withPath("/api/v1/namespaces/ns/pods?labelSelector=%s"
+                        .formatted(URLEncoder.encode("app=pulsar", StandardCharsets.UTF_8)))
+                .andReturn(HttpURLConnection.HTTP_OK, new PodListBuilder().withItems(pods).build())
+                .once();
+
+        return new HttpLoadReportResourceUsageSource(client, "ns", Map.of("app", "pulsar"),
+                BrokerResourcesFactory.BROKER_DEFAULT_SET,
+                pulsarClusterSpec.getBroker(),
+                pulsarClusterSpec.getGlobalSpec()) {
+            @Override
+            protected String getBrokerHost(Pod pod) {
+                Assertions.assertEquals(super.getBrokerHost(pod),
+                        "%s.pul-broker.ns.svc.cluster.local".formatted(pod.getMetadata().getName()));
+                return "localhost";
+            }
+        };
+    }
+}
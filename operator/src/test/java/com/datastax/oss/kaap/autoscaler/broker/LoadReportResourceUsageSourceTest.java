@@ -37,7 +37,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -169,6 +172,93 @@ public class LoadReportResourceUsageSourceTest {
         });
     }
 
+    @Test
+    public void testAbortCancelsInFlightRequests() throws Exception {
+        final String spec = """
+                global:
+                   name: pul
+                broker:
+                    replicas: 2
+                    autoscaler:
+                        enabled: true
+                        resourcesUsageParallelism: 2
+                        resourcesUsageTimeoutMs: 60000
+                """;
+        final PulsarClusterSpec pulsarClusterSpec = SerializationUtil.readYaml(spec, PulsarClusterSpec.class);
+        setupMocks(pulsarClusterSpec, (pod, mockServer) -> {
+        });
+
+        final CountDownLatch pendingRequested = new CountDownLatch(1);
+        final CompletableFuture<String> pending = new CompletableFuture<>();
+        final LoadReportResourceUsageSource source =
+                new LoadReportResourceUsageSource(client, "ns", Map.of("app", "pulsar"),
+                        BrokerResourcesFactory.BROKER_DEFAULT_SET,
+                        pulsarClusterSpec.getBroker(),
+                        pulsarClusterSpec.getGlobalSpec()) {
+                    @Override
+                    @SneakyThrows
+                    protected CompletableFuture<String> requestLoadReport(Pod pod, long deadline) {
+                        if (pod.getMetadata().getName().equals("pul-broker-1")) {
+                            pendingRequested.countDown();
+                            return pending;
+                        }
+                        pendingRequested.await();
+                        return CompletableFuture.failedFuture(new IllegalStateException("broker down"));
+                    }
+                };
+
+        Assertions.assertThrows(ExecutionException.class, source::getBrokersResourceUsages);
+        final long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!pending.isCancelled() && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+        Assertions.assertTrue(pending.isCancelled());
+    }
+
+    @Test
+    public void testSkipMissing() throws Exception {
+        final String spec = """
+                global:
+                   name: pul
+                broker:
+                    replicas: 3
+                    autoscaler:
+                        enabled: true
+                        resourcesUsageParallelism: 2
+                        missingResourcesUsagePolicy: Skip
+                """;
+
+        final List<BrokerResourceUsageSource.ResourceUsage> brokersResourceUsages =
+                createLoadReportResourceUsageSource(spec, (pod, mockServer) -> {
+                    final String[] split = pod.getMetadata().getName().split("-");
+                    int replicaCount = Integer.parseInt(split[split.length - 1]);
+                    if (replicaCount == 1) {
+                        return;
+                    }
+                    mockServer.expect()
+                            .get()
+                            .withPath(genExpectedUrlForExecInPod(pod.getMetadata().getName(),
+                                    "curl http://localhost:8080/admin/v2/broker-stats/load-report/"))
+                            .andUpgradeToWebSocket()
+                            .open(new OutputStreamMessage("""
+                                    {
+                                        "cpu": {
+                                            "usage": %f,
+                                            "limit": 8.0
+                                        }
+                                    }
+                                    """.formatted(2.33 * (replicaCount + 1))))
+                            .done()
+                            .always();
+                });
+
+        Assertions.assertEquals(brokersResourceUsages.size(), 2);
+        Assertions.assertEquals(brokersResourceUsages.get(0).getPod(), "pul-broker-0");
+        Assertions.assertEquals(brokersResourceUsages.get(0).getPercentCpu() + "", "0.29");
+        Assertions.assertEquals(brokersResourceUsages.get(1).getPod(), "pul-broker-2");
+        Assertions.assertEquals(brokersResourceUsages.get(1).getPercentCpu() + "", "0.87");
+    }
+
     @Test
     public void testOk() throws Exception {
         final String spec = """
@@ -0,0 +1,132 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers;
+
+import com.datastax.oss.kaap.ApiCallsBudget;
+import com.datastax.oss.kaap.KubernetesResourcesCache;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import java.util.Map;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@EnableKubernetesMockClient(https = false, crud = true)
+public class BaseResourcesFactoryPatchTest {
+    private static final String NAMESPACE = "ns";
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    @Test
+    public void testSkipUnchangedPatch() throws Exception {
+        try (final KubernetesResourcesCache cache = new KubernetesResourcesCache(client, false)) {
+            final BaseResourcesFactory<Object> factory = getFactory(client, cache);
+
+            factory.patchResource(newConfigMap("v1"));
+            final ConfigMap created = getConfigMap();
+            Assertions.assertNotNull(created.getMetadata().getAnnotations()
+                    .get(BaseResourcesFactory.DESIRED_STATE_HASH_ANNOTATION));
+
+            factory.patchResource(newConfigMap("v1"));
+            Assertions.assertEquals("GET", server.getLastRequest().getMethod());
+            Assertions.assertEquals(created.getMetadata().getResourceVersion(),
+                    getConfigMap().getMetadata().getResourceVersion());
+
+            factory.patchResource(newConfigMap("v2"));
+            final ConfigMap updated = getConfigMap();
+            Assertions.assertEquals("v2", updated.getData().get("key"));
+            Assertions.assertNotEquals(created.getMetadata().getAnnotations()
+                            .get(BaseResourcesFactory.DESIRED_STATE_HASH_ANNOTATION),
+                    updated.getMetadata().getAnnotations().get(BaseResourcesFactory.DESIRED_STATE_HASH_ANNOTATION));
+        }
+    }
+
+    @Test
+    public void testUnchangedPatchCallsBudget() throws Exception {
+        try (final KubernetesClient accounted = ApiCallsBudget.newAccountedClient(client);
+             final KubernetesResourcesCache cache = new KubernetesResourcesCache(accounted, false)) {
+            final BaseResourcesFactory<Object> factory = getFactory(accounted, cache);
+            ApiCallsBudget.budget()
+                    .allow("get", "configmaps", 1)
+                    .allow("create", "configmaps", 1)
+                    .assertWithin(() -> factory.patchResource(newConfigMap("v1")));
+            ApiCallsBudget.budget()
+                    .allow("get", "configmaps", 1)
+                    .assertWithin(() -> factory.patchResource(newConfigMap("v1")));
+        }
+    }
+
+    @Test
+    public void testCachedVersionOnlyDecidesTheSkip() throws Exception {
+        try (final KubernetesClient accounted = ApiCallsBudget.newAccountedClient(client);
+             final KubernetesResourcesCache cache = new KubernetesResourcesCache(accounted, true)) {
+            final BaseResourcesFactory<Object> factory = getFactory(accounted, cache);
+            factory.patchResource(newConfigMap("v1"));
+            final InMemoryResourceCache<ConfigMap> eventSourceCache = new InMemoryResourceCache<>();
+            eventSourceCache.add(getConfigMap());
+            cache.registerEventSourceCache(ConfigMap.class, eventSourceCache);
+
+            ApiCallsBudget.budget()
+                    .assertWithin(() -> factory.patchResource(newConfigMap("v1")));
+
+            // changed after the cached version: the patch must be computed against the live version
+            client.configMaps().inNamespace(NAMESPACE).withName("test")
+                    .edit(c -> new ConfigMapBuilder(c).addToData("other", "value").build());
+            ApiCallsBudget.budget()
+                    .allow("get", "configmaps", 1)
+                    .allow("patch", "configmaps", 1)
+                    .assertWithin(() -> factory.patchResource(newConfigMap("v2")));
+            Assertions.assertEquals(Map.of("key", "v2"), getConfigMap().getData());
+        }
+    }
+
+    private ConfigMap getConfigMap() {
+        return client.configMaps().inNamespace(NAMESPACE).withName("test").get();
+    }
+
+    private static ConfigMap newConfigMap(String value) {
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName("test")
+                .withNamespace(NAMESPACE)
+                .withLabels(Map.of("app", "pulsar"))
+                .endMetadata()
+                .withData(Map.of("key", value))
+                .build();
+    }
+
+    @SneakyThrows
+    private BaseResourcesFactory<Object> getFactory(KubernetesClient client, KubernetesResourcesCache cache) {
+        final GlobalSpec globalSpec = GlobalSpec.builder().build();
+        globalSpec.applyDefaults(null);
+        return new BaseResourcesFactory<>(client, cache, NAMESPACE, "test", null, globalSpec, null) {
+            @Override
+            protected String getComponentBaseName() {
+                return "test";
+            }
+
+            @Override
+            protected boolean isComponentEnabled() {
+                return true;
+            }
+        };
+    }
+}
@@ -17,6 +17,8 @@ package com.datastax.oss.kaap.controllers;
 
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.configs.tls.TlsConfig;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -106,4 +108,26 @@ public class BaseResourcesFactoryTest {
         };
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testStatefulSetReadyObservedGeneration() {
+        final StatefulSet sts = new StatefulSetBuilder()
+                .withNewMetadata()
+                .withName("pul-broker")
+                .withGeneration(2L)
+                .endMetadata()
+                .withNewStatus()
+                .withObservedGeneration(1L)
+                .withReplicas(3)
+                .withReadyReplicas(3)
+                .withUpdatedReplicas(3)
+                .withCurrentRevision("rev-1")
+                .withUpdateRevision("rev-1")
+                .endStatus()
+                .build();
+        // the status still describes the previous spec
+        Assert.assertFalse(BaseResourcesFactory.isStatefulSetReady(sts));
+        sts.getStatus().setObservedGeneration(2L);
+        Assert.assertTrue(BaseResourcesFactory.isStatefulSetReady(sts));
+    }
+}
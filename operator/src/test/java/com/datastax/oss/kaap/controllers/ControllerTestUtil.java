@@ -16,6 +16,7 @@
 package com.datastax.oss.kaap.controllers;
 
 import static org.mockito.Mockito.mock;
+import com.datastax.oss.kaap.KubernetesResourcesCache;
 import com.datastax.oss.kaap.OperatorRuntimeConfiguration;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.crds.BaseComponentStatus;
@@ -28,6 +29,7 @@ import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import java.util.Map;
 import java.util.function.Function;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -42,11 +44,47 @@ public class ControllerTestUtil<X extends FullSpecWithDefaults,
         public Integer reconciliationRescheduleSeconds() {
             return 5;
         }
+
+        @Override
+        public Boolean resourcesCacheEnabled() {
+            return false;
+        }
+
+        @Override
+        public Boolean secondaryResourcesEventsEnabled() {
+            return false;
+        }
+
+        @Override
+        public Integer reconciliationFallbackRescheduleSeconds() {
+            return 60;
+        }
+
+        @Override
+        public Integer setsReconciliationConcurrency() {
+            return 4;
+        }
+
+        @Override
+        public Integer reconciliationBackoffMaxSeconds() {
+            return 300;
+        }
+
+        @Override
+        public Map<String, Integer> reconciliationBackoffMaxSecondsByKind() {
+            return Map.of();
+        }
+
+        @Override
+        public Double reconciliationRescheduleJitter() {
+            return 0.0d;
+        }
     }
 
     private final String namespace;
     private final String clusterName;
     private final Function<ControllerConstructorInput, AbstractController<R>> controllerConstructor;
+    private KubernetesResourcesCache resourcesCache;
 
     @Data
     @AllArgsConstructor
@@ -73,6 +111,11 @@ public class ControllerTestUtil<X extends FullSpecWithDefaults,
         this.controllerConstructor = controllerConstructor;
     }
 
+    public ControllerTestUtil<X, R> withResourcesCache(KubernetesResourcesCache resourcesCache) {
+        this.resourcesCache = resourcesCache;
+        return this;
+    }
+
     @SneakyThrows
     public void invokeControllerAndAssertError(String spec, String expectedErrorMessage,
                                                Class<R> specClass, Class<X> fullSpecClass,
@@ -127,10 +170,25 @@ public class ControllerTestUtil<X extends FullSpecWithDefaults,
     public UpdateControl<R> invokeController(MockKubernetesClient mockKubernetesClient,
                                              R cr,
                                              Class<? extends AbstractController<R>> controllerClass) throws Exception {
+        final UpdateControl<R> result = reconcile(mockKubernetesClient, cr, controllerClass);
+        if (result.isNoUpdate()) {
+            // the status write has been skipped, the next reconciliation will observe the same resource
+            Assert.assertNotNull(cr.getStatus());
+            final UpdateControl<R> unchanged = UpdateControl.patchStatus(cr);
+            result.getScheduleDelay().ifPresent(unchanged::rescheduleAfter);
+            return unchanged;
+        }
+        return result;
+    }
+
+    public UpdateControl<R> reconcile(MockKubernetesClient mockKubernetesClient,
+                                      R cr,
+                                      Class<? extends AbstractController<R>> controllerClass) throws Exception {
         final AbstractController<R> controller =
                 controllerConstructor.apply(new ControllerConstructorInput(controllerClass,
                         mockKubernetesClient.getClient()));
         controller.operatorRuntimeConfiguration = new TestOperatorRuntimeConfiguration();
+        controller.resourcesCache = resourcesCache;
         return controller.reconcile(cr, mock(Context.class));
     }
 
@@ -0,0 +1,60 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.javaoperatorsdk.operator.api.reconciler.ResourceCache;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Stands for the cache of an informer event source, the resources are all in the same namespace.
+ */
+public class InMemoryResourceCache<R extends HasMetadata> implements ResourceCache<R> {
+
+    private final List<R> resources = new CopyOnWriteArrayList<>();
+
+    public void add(R resource) {
+        resources.add(resource);
+    }
+
+    @Override
+    public Optional<R> get(ResourceID resourceID) {
+        return resources.stream()
+                .filter(r -> Objects.equals(r.getMetadata().getName(), resourceID.getName()))
+                .findFirst();
+    }
+
+    @Override
+    public Stream<ResourceID> keys() {
+        return resources.stream().map(ResourceID::fromResource);
+    }
+
+    @Override
+    public Stream<R> list(Predicate<R> predicate) {
+        return resources.stream().filter(predicate);
+    }
+
+    @Override
+    public Stream<R> list(String namespace, Predicate<R> predicate) {
+        return list(predicate);
+    }
+}
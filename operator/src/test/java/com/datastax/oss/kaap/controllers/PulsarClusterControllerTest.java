@@ -26,6 +26,7 @@ import com.datastax.oss.kaap.crds.autorecovery.Autorecovery;
 import com.datastax.oss.kaap.crds.bastion.Bastion;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeper;
 import com.datastax.oss.kaap.crds.broker.Broker;
+import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
 import com.datastax.oss.kaap.crds.cluster.PulsarCluster;
 import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
 import com.datastax.oss.kaap.crds.function.FunctionsWorker;
@@ -528,6 +529,16 @@ public class PulsarClusterControllerTest {
                       scaleDownBy: 1
                       stabilizationWindowMs: 300000
                       resourcesUsageSource: PulsarLBReport
+                      resourcesUsageParallelism: 8
+                      resourcesUsageTimeoutMs: 30000
+                      missingResourcesUsagePolicy: Abort
+                      utilizationAggregation: Last
+                      utilizationWindowSize: 5
+                      utilizationEwmaAlpha: 0.5
+                      resourcesThresholdPolicy: Any
+                      predictionModel: None
+                      predictionLookaheadMs: 300000
+                      predictionHistoryMs: 1800000
                     kafka:
                       enabled: false
                       exposePorts: true
@@ -1040,4 +1051,32 @@ public class PulsarClusterControllerTest {
         Assert.assertEquals(brokerGetCount.get(), 1);
         KubeTestUtil.assertUpdateControlInitializing(control);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAdjustReplicasOnCopy() {
+        String spec = """
+                global:
+                    name: pulsar-spec-1
+                    image: apachepulsar/pulsar:2.10.2
+                broker:
+                    replicas: 1
+                    autoscaler:
+                        enabled: true
+                """;
+        final PulsarClusterSpec clusterSpec = SerializationUtil.readYaml(spec, PulsarClusterSpec.class);
+        clusterSpec.getGlobal().applyDefaults(null);
+        clusterSpec.applyDefaults(clusterSpec.getGlobal());
+        final BrokerFullSpec desired = new BrokerFullSpec(clusterSpec.getGlobal(), clusterSpec.getBroker());
+
+        final Broker current = new Broker();
+        current.setSpec(SerializationUtil.deepCloneObject(desired));
+        current.getSpec().getBroker().setReplicas(3);
+        final BrokerFullSpec adjusted = PulsarClusterController.withCurrentReplicas(current, desired);
+        Assert.assertEquals(adjusted.getBroker().getReplicas(), 3);
+        // the cluster spec is shared by the reconciliations of the same generation
+        Assert.assertEquals(clusterSpec.getBroker().getReplicas(), 1);
+
+        current.getSpec().getBroker().setReplicas(1);
+        Assert.assertSame(PulsarClusterController.withCurrentReplicas(current, desired), desired);
+    }
+}
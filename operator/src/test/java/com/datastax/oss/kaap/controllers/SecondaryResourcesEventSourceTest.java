@@ -0,0 +1,160 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.datastax.oss.kaap.controllers.zookeeper.ZooKeeperController;
+import com.datastax.oss.kaap.crds.CRDConstants;
+import com.datastax.oss.kaap.crds.zookeeper.ZooKeeper;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.javaoperatorsdk.operator.api.config.BaseConfigurationService;
+import io.javaoperatorsdk.operator.api.config.ControllerConfiguration;
+import io.javaoperatorsdk.operator.api.reconciler.EventSourceContext;
+import io.javaoperatorsdk.operator.processing.event.Event;
+import io.javaoperatorsdk.operator.processing.event.EventHandler;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.EventSource;
+import io.javaoperatorsdk.operator.processing.event.source.IndexerResourceCache;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@EnableKubernetesMockClient(https = false, crud = true)
+public class SecondaryResourcesEventSourceTest {
+    private static final String NAMESPACE = "ns";
+    private static final int WAIT_MS = 2000;
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+    private InformerEventSource<StatefulSet, ZooKeeper> eventSource;
+    private EventHandler eventHandler;
+
+    @BeforeEach
+    public void setup() {
+        final AbstractController<ZooKeeper> controller = new ZooKeeperController(client);
+        controller.operatorRuntimeConfiguration = new ControllerTestUtil.TestOperatorRuntimeConfiguration() {
+            @Override
+            public Boolean secondaryResourcesEventsEnabled() {
+                return true;
+            }
+        };
+        final ControllerConfiguration<ZooKeeper> controllerConfiguration = mock(ControllerConfiguration.class);
+        when(controllerConfiguration.getConfigurationService()).thenReturn(new BaseConfigurationService());
+        when(controllerConfiguration.getEffectiveNamespaces()).thenReturn(Set.of(NAMESPACE));
+        final List<EventSource<?, ZooKeeper>> eventSources = controller.prepareEventSources(
+                new EventSourceContext<>(mock(IndexerResourceCache.class), controllerConfiguration, client,
+                        ZooKeeper.class));
+        eventSource = (InformerEventSource<StatefulSet, ZooKeeper>) eventSources.stream()
+                .filter(es -> es.resourceType() == StatefulSet.class)
+                .findFirst()
+                .orElseThrow();
+        eventHandler = mock(EventHandler.class);
+        eventSource.setEventHandler(eventHandler);
+        eventSource.setControllerConfiguration((ControllerConfiguration) controllerConfiguration);
+        eventSource.start();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        eventSource.stop();
+    }
+
+    @Test
+    public void testOwnerMapping() {
+        final StatefulSet sts = createStatefulSet();
+        final Set<ResourceID> owners = eventSource.configuration().getSecondaryToPrimaryMapper()
+                .toPrimaryResourceIDs(sts);
+        Assertions.assertEquals(Set.of(new ResourceID("pul-zk", NAMESPACE)), owners);
+    }
+
+    @Test
+    public void testStatusChangeTriggersReconcile() {
+        final StatefulSet sts = createStatefulSet();
+        verify(eventHandler, timeout(WAIT_MS)).handleEvent(any());
+
+        client.resource(new StatefulSetBuilder(sts)
+                        .editStatus()
+                        .withReadyReplicas(3)
+                        .endStatus()
+                        .build())
+                .inNamespace(NAMESPACE)
+                .updateStatus();
+        final ArgumentCaptor<Event> events = ArgumentCaptor.forClass(Event.class);
+        verify(eventHandler, timeout(WAIT_MS).times(2)).handleEvent(events.capture());
+        for (Event event : events.getAllValues()) {
+            Assertions.assertEquals(new ResourceID("pul-zk", NAMESPACE), event.getRelatedCustomResourceID());
+        }
+    }
+
+    @Test
+    public void testSpecChangeIsFiltered() {
+        final StatefulSet sts = createStatefulSet();
+        verify(eventHandler, timeout(WAIT_MS)).handleEvent(any());
+
+        // our own patches only touch the spec, they must not trigger another reconciliation
+        client.resource(new StatefulSetBuilder(sts)
+                        .editSpec()
+                        .withReplicas(5)
+                        .endSpec()
+                        .build())
+                .inNamespace(NAMESPACE)
+                .update();
+        Assertions.assertEquals(5, client.apps().statefulSets().inNamespace(NAMESPACE)
+                .withName("pul-zookeeper").get().getSpec().getReplicas());
+        verify(eventHandler, after(WAIT_MS).times(1)).handleEvent(any());
+    }
+
+    private StatefulSet createStatefulSet() {
+        return client.resource(new StatefulSetBuilder()
+                        .withNewMetadata()
+                        .withName("pul-zookeeper")
+                        .withNamespace(NAMESPACE)
+                        .withLabels(Map.of(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE))
+                        .addNewOwnerReference()
+                        .withApiVersion(CRDConstants.GROUP + "/" + CRDConstants.VERSION)
+                        .withKind("ZooKeeper")
+                        .withName("pul-zk")
+                        .withUid("zk-uid")
+                        .withController(true)
+                        .endOwnerReference()
+                        .endMetadata()
+                        .withNewSpec()
+                        .withReplicas(3)
+                        .endSpec()
+                        .withNewStatus()
+                        .withReplicas(3)
+                        .withReadyReplicas(1)
+                        .endStatus()
+                        .build())
+                .inNamespace(NAMESPACE)
+                .create();
+    }
+}
@@ -25,6 +25,7 @@ import com.datastax.oss.kaap.controllers.KubeTestUtil;
 import com.datastax.oss.kaap.controllers.bookkeeper.racks.BookKeeperRackDaemon;
 import com.datastax.oss.kaap.controllers.bookkeeper.racks.client.BkRackClient;
 import com.datastax.oss.kaap.controllers.bookkeeper.racks.client.BkRackClientFactory;
+import com.datastax.oss.kaap.controllers.utils.LastAppliedCodec;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeper;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperAutoRackConfig;
@@ -725,7 +726,7 @@ public class BookKeeperSetsControllerTest {
         // verify order of sets follows the order declared in the spec
         Assert.assertNotNull(client.getCreatedResource(StatefulSet.class, "pulsar-spec-1-bookkeeper-setz"));
         BookKeeperController.BookKeeperSetsLastApplied setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("setz"));
 
@@ -735,7 +736,7 @@ public class BookKeeperSetsControllerTest {
         KubeTestUtil.assertUpdateControlInitializing(bookkeeperUpdateControl);
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 0);
         setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("setz"));
 
@@ -748,7 +749,7 @@ public class BookKeeperSetsControllerTest {
         KubeTestUtil.assertUpdateControlInitializing(bookkeeperUpdateControl);
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
         setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("seta"));
 
@@ -914,7 +915,7 @@ public class BookKeeperSetsControllerTest {
         UpdateControl<BookKeeper> bookkeeperUpdateControl = invokeController(spec, new BookKeeper(), client);
         KubeTestUtil.assertUpdateControlInitializing(bookkeeperUpdateControl);
         BookKeeperController.BookKeeperSetsLastApplied setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
@@ -929,7 +930,7 @@ public class BookKeeperSetsControllerTest {
         bookkeeperUpdateControl = invokeController(spec, bookkeeperUpdateControl.getResource().get(), client);
         KubeTestUtil.assertUpdateControlInitializing(bookkeeperUpdateControl);
         setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("bookkeeper"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
@@ -956,7 +957,7 @@ public class BookKeeperSetsControllerTest {
         bookkeeperUpdateControl = invokeController(spec, bookkeeperUpdateControl.getResource().get(), client);
         KubeTestUtil.assertUpdateControlReady(bookkeeperUpdateControl);
         setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNull(setsLastApplied.getSets().get("bookkeeper"));
 
@@ -981,7 +982,7 @@ public class BookKeeperSetsControllerTest {
         bookkeeperUpdateControl = invokeController(spec, bookkeeperUpdateControl.getResource().get(), client);
         KubeTestUtil.assertUpdateControlReady(bookkeeperUpdateControl);
         setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(bookkeeperUpdateControl.getResource().get().getStatus().getLastApplied(),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNull(setsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 0);
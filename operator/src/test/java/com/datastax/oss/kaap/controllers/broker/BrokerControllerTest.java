@@ -16,9 +16,11 @@
 package com.datastax.oss.kaap.controllers.broker;
 
 import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.controllers.AbstractController;
 import com.datastax.oss.kaap.controllers.ControllerTestUtil;
 import com.datastax.oss.kaap.controllers.KubeTestUtil;
 import com.datastax.oss.kaap.crds.BaseComponentStatus;
+import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.broker.Broker;
 import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
@@ -47,9 +49,13 @@ import io.fabric8.kubernetes.api.model.WeightedPodAffinityTerm;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.batch.v1.Job;
 import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudget;
+import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.SneakyThrows;
 import lombok.extern.jbosslog.JBossLog;
@@ -1167,6 +1173,38 @@ public class BrokerControllerTest {
         );
     }
 
+    @Test
+    public void testAutoscalerResourceThresholds() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                broker:
+                    autoscaler:
+                        resourceThresholds:
+                            disk:
+                                lowerThreshold: 0.2
+                                higherThreshold: 0.8
+                """;
+        invokeControllerAndAssertError(spec, "invalid configuration property "
+                + "\"broker.autoscaler.resourceThresholds<K>[disk].<map key>\" for value \"disk\": unknown resource");
+
+        spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                broker:
+                    autoscaler:
+                        resourceThresholds:
+                            memory:
+                                lowerThreshold: 0.2
+                                higherThreshold: 0.8
+                """;
+        invokeController(spec);
+    }
+
     @Test
     public void testGracePeriod() throws Exception {
         String spec = """
@@ -1313,6 +1351,136 @@ public class BrokerControllerTest {
                 .getSpec().getPriorityClassName(), "pulsar-priority");
     }
 
+    @Test
+    public void testSkipUnchangedStatus() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                """;
+        final MockResourcesResolver resolver = new MockResourcesResolver() {
+            @Override
+            public StatefulSet statefulSetWithName(String name) {
+                return newStatefulSetBuilder(name, true).build();
+            }
+        };
+        Broker brokerCr = controllerTestUtil.createCustomResource(Broker.class, BrokerFullSpec.class, spec);
+        UpdateControl<Broker> result =
+                controllerTestUtil.reconcile(new MockKubernetesClient(NAMESPACE, resolver), brokerCr,
+                        BrokerController.class);
+        KubeTestUtil.assertUpdateControlReady(result);
+
+        brokerCr = result.getResource().get();
+        final BaseComponentStatus status = brokerCr.getStatus();
+        final MockKubernetesClient client = new MockKubernetesClient(NAMESPACE, resolver);
+        result = controllerTestUtil.reconcile(client, brokerCr, BrokerController.class);
+        Assert.assertTrue(result.isNoUpdate());
+        Assert.assertTrue(result.getScheduleDelay().isEmpty());
+        Assert.assertSame(brokerCr.getStatus(), status);
+        Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 0);
+    }
+
+    @Test
+    public void testValidationCachedForGeneration() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                broker:
+                    gracePeriod: 10
+                """;
+        Broker brokerCr = controllerTestUtil.createCustomResource(Broker.class, BrokerFullSpec.class, spec);
+        brokerCr.getMetadata().setUid(UUID.randomUUID().toString());
+        brokerCr.getMetadata().setGeneration(1L);
+        UpdateControl<Broker> result =
+                controllerTestUtil.invokeController(new MockKubernetesClient(NAMESPACE), brokerCr,
+                        BrokerController.class);
+        KubeTestUtil.assertUpdateControlInitializing(result);
+
+        // the spec can't change without a new generation, the validation result is reused
+        brokerCr = result.getResource().get();
+        brokerCr.getSpec().getBroker().setGracePeriod(-1);
+        result = controllerTestUtil.invokeController(new MockKubernetesClient(NAMESPACE), brokerCr,
+                BrokerController.class);
+        Assert.assertNotEquals(result.getResource().get().getStatus().getConditions().get(0).getReason(),
+                CRDConstants.CONDITIONS_TYPE_READY_REASON_INVALID_SPEC);
+
+        brokerCr.getMetadata().setGeneration(2L);
+        result = controllerTestUtil.invokeController(new MockKubernetesClient(NAMESPACE), brokerCr,
+                BrokerController.class);
+        Assert.assertEquals(result.getResource().get().getStatus().getConditions().get(0).getReason(),
+                CRDConstants.CONDITIONS_TYPE_READY_REASON_INVALID_SPEC);
+    }
+
+    @Test
+    public void testDefaultedSpecCachedForGeneration() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                """;
+        final String uid = UUID.randomUUID().toString();
+        final Broker first = controllerTestUtil.createCustomResource(Broker.class, BrokerFullSpec.class, spec);
+        first.getMetadata().setUid(uid);
+        first.getMetadata().setGeneration(1L);
+        controllerTestUtil.invokeController(new MockKubernetesClient(NAMESPACE), first, BrokerController.class);
+        Assert.assertNotNull(first.getSpec().getBroker().getReplicas());
+
+        final Broker second = controllerTestUtil.createCustomResource(Broker.class, BrokerFullSpec.class, spec);
+        second.getMetadata().setUid(uid);
+        second.getMetadata().setGeneration(1L);
+        controllerTestUtil.invokeController(new MockKubernetesClient(NAMESPACE), second, BrokerController.class);
+        Assert.assertSame(second.getSpec(), first.getSpec());
+        // the reconciliations don't modify the shared spec
+        final BrokerFullSpec defaulted = SerializationUtil.readYaml(spec, BrokerFullSpec.class);
+        defaulted.getGlobal().applyDefaults(null);
+        defaulted.applyDefaults(defaulted.getGlobal());
+        Assert.assertEquals(second.getSpec(), defaulted);
+
+        final Broker next = controllerTestUtil.createCustomResource(Broker.class, BrokerFullSpec.class, spec);
+        next.getMetadata().setUid(uid);
+        next.getMetadata().setGeneration(2L);
+        controllerTestUtil.invokeController(new MockKubernetesClient(NAMESPACE), next, BrokerController.class);
+        Assert.assertNotSame(next.getSpec(), first.getSpec());
+        Assert.assertEquals(next.getSpec(), first.getSpec());
+    }
+
+    @Test
+    public void testReconcileMetrics() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                """;
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            final Broker brokerCr =
+                    controllerTestUtil.createCustomResource(Broker.class, BrokerFullSpec.class, spec);
+            final UpdateControl<Broker> result =
+                    controllerTestUtil.reconcile(new MockKubernetesClient(NAMESPACE), brokerCr,
+                            BrokerController.class);
+            KubeTestUtil.assertUpdateControlInitializing(result);
+
+            Assert.assertEquals(registry.get(AbstractController.RECONCILE_TIMER_METRIC)
+                    .tags("controller", "Broker", "outcome", "not_ready").timer().count(), 1);
+            for (String phase : List.of("validation", "patch_resources", "status")) {
+                Assert.assertEquals(registry.get(AbstractController.RECONCILE_PHASE_TIMER_METRIC)
+                        .tags("controller", "Broker", "phase", phase, "outcome", "not_ready").timer().count(), 1);
+            }
+            Assert.assertEquals(registry.get(AbstractController.RECONCILE_RESCHEDULES_METRIC)
+                    .tags("controller", "Broker", "reason", "not_ready").counter().count(), 1.0d);
+            Assert.assertNull(registry.find(AbstractController.RECONCILE_ERRORS_METRIC).counter());
+        } finally {
+            Metrics.removeRegistry(registry);
+            registry.close();
+        }
+    }
+
     @Test
     public void testDNSConfig() throws Exception {
         String spec = """
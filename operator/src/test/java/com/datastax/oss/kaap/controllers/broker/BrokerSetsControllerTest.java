@@ -18,20 +18,24 @@ package com.datastax.oss.kaap.controllers.broker;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.controllers.ControllerTestUtil;
 import com.datastax.oss.kaap.controllers.KubeTestUtil;
+import com.datastax.oss.kaap.controllers.utils.LastAppliedCodec;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.broker.Broker;
 import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
 import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
 import com.datastax.oss.kaap.mocks.MockKubernetesClient;
 import com.datastax.oss.kaap.mocks.MockResourcesResolver;
+import io.fabric8.kubernetes.api.model.Condition;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudget;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
 import java.util.LinkedHashMap;
+import java.util.List;
 import lombok.SneakyThrows;
 import lombok.extern.jbosslog.JBossLog;
+import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -613,6 +617,43 @@ public class BrokerSetsControllerTest {
     }
 
 
+    @Test
+    public void testParallelUpdateManySets() throws Exception {
+        String spec = """
+                global:
+                    name: pulsar-spec-1
+                    image: apachepulsar/pulsar:global
+                broker:
+                    setsUpdateStrategy: Parallel
+                    sets:
+                      set1: {}
+                      set2: {}
+                      set3: {}
+                      set4: {}
+                      set5: {}
+                      set6: {}
+                """;
+        String lastApplied = null;
+        for (int i = 0; i < 2; i++) {
+            MockKubernetesClient client = new MockKubernetesClient(NAMESPACE, new MockResourcesResolver());
+            UpdateControl<Broker> brokerUpdateControl = invokeController(spec, new Broker(), client);
+            KubeTestUtil.assertUpdateControlInitializing(brokerUpdateControl);
+            Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 6);
+            for (int set = 1; set <= 6; set++) {
+                Assert.assertNotNull(client.getCreatedResource(StatefulSet.class, "pulsar-spec-1-broker-set" + set));
+                Assert.assertNotNull(client.getCreatedResource(ConfigMap.class, "pulsar-spec-1-broker-set" + set));
+            }
+            final String currentLastApplied = brokerUpdateControl.getResource().get().getStatus().getLastApplied();
+            final BrokerController.BrokerSetsLastApplied setsLastApplied =
+                    LastAppliedCodec.decode(currentLastApplied, BrokerController.BrokerSetsLastApplied.class);
+            Assert.assertEquals(setsLastApplied.getSets().size(), 6);
+            if (lastApplied != null) {
+                Assert.assertEquals(currentLastApplied, lastApplied);
+            }
+            lastApplied = currentLastApplied;
+        }
+    }
+
     @Test
     public void testRollingUpdate() throws Exception {
         String spec = """
@@ -629,7 +670,7 @@ public class BrokerSetsControllerTest {
         UpdateControl<Broker> brokerUpdateControl = invokeController(spec, new Broker(), client);
         KubeTestUtil.assertUpdateControlInitializing(brokerUpdateControl);
         BrokerController.BrokerSetsLastApplied setsLastApplied =
-                SerializationUtil.readJson(brokerUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(brokerUpdateControl.getResource().get().getStatus().getLastApplied(),
                         BrokerController.BrokerSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
@@ -651,7 +692,7 @@ public class BrokerSetsControllerTest {
 
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
         setsLastApplied =
-                SerializationUtil.readJson(brokerUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(brokerUpdateControl.getResource().get().getStatus().getLastApplied(),
                         BrokerController.BrokerSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("seta"));
 
@@ -818,7 +859,7 @@ public class BrokerSetsControllerTest {
         UpdateControl<Broker> brokerUpdateControl = invokeController(spec, new Broker(), client);
         KubeTestUtil.assertUpdateControlInitializing(brokerUpdateControl);
         BrokerController.BrokerSetsLastApplied setsLastApplied =
-                SerializationUtil.readJson(brokerUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(brokerUpdateControl.getResource().get().getStatus().getLastApplied(),
                         BrokerController.BrokerSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
@@ -833,7 +874,7 @@ public class BrokerSetsControllerTest {
         brokerUpdateControl = invokeController(spec, brokerUpdateControl.getResource().get(), client);
         KubeTestUtil.assertUpdateControlInitializing(brokerUpdateControl);
         setsLastApplied =
-                SerializationUtil.readJson(brokerUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(brokerUpdateControl.getResource().get().getStatus().getLastApplied(),
                         BrokerController.BrokerSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("broker"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
@@ -861,7 +902,7 @@ public class BrokerSetsControllerTest {
         brokerUpdateControl = invokeController(spec, brokerUpdateControl.getResource().get(), client);
         KubeTestUtil.assertUpdateControlReady(brokerUpdateControl);
         setsLastApplied =
-                SerializationUtil.readJson(brokerUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(brokerUpdateControl.getResource().get().getStatus().getLastApplied(),
                         BrokerController.BrokerSetsLastApplied.class);
         Assert.assertNull(setsLastApplied.getSets().get("broker"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 0);
@@ -884,7 +925,7 @@ public class BrokerSetsControllerTest {
         brokerUpdateControl = invokeController(spec, brokerUpdateControl.getResource().get(), client);
         KubeTestUtil.assertUpdateControlReady(brokerUpdateControl);
         setsLastApplied =
-                SerializationUtil.readJson(brokerUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(brokerUpdateControl.getResource().get().getStatus().getLastApplied(),
                         BrokerController.BrokerSetsLastApplied.class);
         Assert.assertNull(setsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 0);
@@ -895,4 +936,55 @@ public class BrokerSetsControllerTest {
         Assert.assertNotNull(client.getDeletedResource(StatefulSet.class, "pulsar-spec-1-broker-setz"));
         Assert.assertNotNull(client.getDeletedResource(ConfigMap.class, "pulsar-spec-1-broker-setz"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testConfigMapAppliedBeforeStatefulSet() throws Exception {
+        String spec = """
+                global:
+                    name: pulsar-spec-1
+                    image: apachepulsar/pulsar:global
+                broker:
+                    setsUpdateStrategy: Parallel
+                    sets:
+                      set1: {}
+                      set2: {}
+                """;
+        MockKubernetesClient client = invokeController(spec);
+        final List<String> created = client.getCreatedResources()
+                .stream()
+                .map(r -> r.getResource().getKind() + "/" + r.getResource().getMetadata().getName())
+                .toList();
+        for (String set : List.of("set1", "set2")) {
+            final int configMapIndex = created.indexOf("ConfigMap/pulsar-spec-1-broker-" + set);
+            final int stsIndex = created.indexOf("StatefulSet/pulsar-spec-1-broker-" + set);
+            Assert.assertTrue(configMapIndex >= 0, created.toString());
+            Assert.assertTrue(configMapIndex < stsIndex, created.toString());
+        }
+    }
+
+    @Test
+    public void testConcurrentPatchFailure() throws Exception {
+        String spec = """
+                global:
+                    name: pulsar-spec-1
+                    image: apachepulsar/pulsar:global
+                broker:
+                    setsUpdateStrategy: Parallel
+                    sets:
+                      set1: {}
+                """;
+        final MockKubernetesClient client = new MockKubernetesClient(NAMESPACE);
+        Mockito.doThrow(new IllegalStateException("cannot patch the pdb"))
+                .when(client.getClient())
+                .resource(Mockito.any(PodDisruptionBudget.class));
+
+        final UpdateControl<Broker> result = controllerTestUtil.invokeController(client, spec,
+                Broker.class, BrokerFullSpec.class, BrokerController.class);
+        final Condition readyCondition = result.getResource().get().getStatus().getConditions().get(0);
+        Assert.assertEquals(readyCondition.getStatus(), CRDConstants.CONDITIONS_STATUS_FALSE);
+        Assert.assertEquals(readyCondition.getReason(), CRDConstants.CONDITIONS_TYPE_READY_REASON_GENERIC_ERROR);
+        Assert.assertEquals(readyCondition.getMessage(), "cannot patch the pdb");
+        // the other tasks of the set are not interrupted
+        Assert.assertNotNull(client.getCreatedResource(StatefulSet.class, "pulsar-spec-1-broker-set1"));
+    }
+}
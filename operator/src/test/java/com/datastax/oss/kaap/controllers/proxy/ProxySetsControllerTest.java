@@ -18,6 +18,7 @@ package com.datastax.oss.kaap.controllers.proxy;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.controllers.ControllerTestUtil;
 import com.datastax.oss.kaap.controllers.KubeTestUtil;
+import com.datastax.oss.kaap.controllers.utils.LastAppliedCodec;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.proxy.Proxy;
 import com.datastax.oss.kaap.crds.proxy.ProxyFullSpec;
@@ -576,7 +577,7 @@ public class ProxySetsControllerTest {
         UpdateControl<Proxy> proxyUpdateControl = invokeController(spec, new Proxy(), client);
         KubeTestUtil.assertUpdateControlInitializing(proxyUpdateControl);
         ProxyController.ProxySetsLastApplied proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertEquals(client.getCreatedResources(Deployment.class).size(), 1);
         // verify order of sets follows the order declared in the spec
@@ -589,7 +590,7 @@ public class ProxySetsControllerTest {
         proxyUpdateControl = invokeController(spec, proxyUpdateControl.getResource().get(), client);
         KubeTestUtil.assertUpdateControlInitializing(proxyUpdateControl);
         proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertEquals(client.getCreatedResources(Deployment.class).size(), 0);
         Assert.assertNotNull(proxySetsLastApplied.getSets().get("setz"));
@@ -600,7 +601,7 @@ public class ProxySetsControllerTest {
         proxyUpdateControl = invokeController(spec, proxyUpdateControl.getResource().get(), client);
         KubeTestUtil.assertUpdateControlInitializing(proxyUpdateControl);
         proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertEquals(client.getCreatedResources(Deployment.class).size(), 1);
         Assert.assertNotNull(proxySetsLastApplied.getSets().get("seta"));
@@ -758,7 +759,7 @@ public class ProxySetsControllerTest {
         // verify order of sets follows the order declared in the spec
         Assert.assertNotNull(client.getCreatedResource(Deployment.class, "pulsar-spec-1-proxy-setz"));
         ProxyController.ProxySetsLastApplied proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertNotNull(proxySetsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getDeletedResources().size(), 0);
@@ -769,7 +770,7 @@ public class ProxySetsControllerTest {
         proxyUpdateControl = invokeController(spec, proxyUpdateControl.getResource().get(), client);
         KubeTestUtil.assertUpdateControlInitializing(proxyUpdateControl);
         proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertEquals(client.getCreatedResources(Deployment.class).size(), 1);
         Assert.assertNotNull(proxySetsLastApplied.getSets().get("proxy"));
@@ -794,7 +795,7 @@ public class ProxySetsControllerTest {
         proxyUpdateControl = invokeController(spec, proxyUpdateControl.getResource().get(), client);
         KubeTestUtil.assertUpdateControlReady(proxyUpdateControl);
         proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertNull(proxySetsLastApplied.getSets().get("proxy"));
         Assert.assertEquals(client.getCreatedResources(Deployment.class).size(), 0);
@@ -818,7 +819,7 @@ public class ProxySetsControllerTest {
         proxyUpdateControl = invokeController(spec, proxyUpdateControl.getResource().get(), client);
         KubeTestUtil.assertUpdateControlReady(proxyUpdateControl);
         proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
+                LastAppliedCodec.decode(proxyUpdateControl.getResource().get().getStatus().getLastApplied(),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertNull(proxySetsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getCreatedResources(Deployment.class).size(), 0);
@@ -0,0 +1,121 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers.utils;
+
+import com.datastax.oss.kaap.controllers.utils.ComponentDependencyGraph.ComponentState;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ComponentDependencyGraphTest {
+
+    @Test
+    public void testDependencies() throws Exception {
+        final List<String> executed = new CopyOnWriteArrayList<>();
+        final Map<String, ComponentState> states = new ComponentDependencyGraph()
+                .addComponent("zk", () -> executed.add("zk"))
+                .addComponent("bk", () -> executed.add("bk"), "zk")
+                .addComponent("broker", () -> {
+                    executed.add("broker");
+                    return false;
+                }, "bk")
+                .addComponent("proxy", () -> executed.add("proxy"), "bk")
+                .addComponent("fn", () -> executed.add("fn"), "broker")
+                .execute();
+
+        Assert.assertEquals(states, Map.of(
+                "zk", ComponentState.READY,
+                "bk", ComponentState.READY,
+                "broker", ComponentState.NOT_READY,
+                "proxy", ComponentState.READY,
+                "fn", ComponentState.SKIPPED
+        ));
+        Assert.assertEquals(executed.subList(0, 2), List.of("zk", "bk"));
+        Assert.assertFalse(executed.contains("fn"));
+        Assert.assertEquals(List.copyOf(states.keySet()), List.of("zk", "bk", "broker", "proxy", "fn"));
+    }
+
+    @Test
+    public void testNotReadySkipsDownstream() throws Exception {
+        final List<String> executed = new CopyOnWriteArrayList<>();
+        final Map<String, ComponentState> states = new ComponentDependencyGraph()
+                .addComponent("zk", () -> {
+                    executed.add("zk");
+                    return false;
+                })
+                .addComponent("bastion", () -> executed.add("bastion"))
+                .addComponent("bk", () -> executed.add("bk"), "zk")
+                .addComponent("broker", () -> executed.add("broker"), "bk")
+                .addComponent("proxy", () -> executed.add("proxy"), "bastion", "broker")
+                .execute();
+
+        Assert.assertEquals(states, Map.of(
+                "zk", ComponentState.NOT_READY,
+                "bastion", ComponentState.READY,
+                "bk", ComponentState.SKIPPED,
+                "broker", ComponentState.SKIPPED,
+                "proxy", ComponentState.SKIPPED
+        ));
+        Assert.assertEquals(Set.copyOf(executed), Set.of("zk", "bastion"));
+    }
+
+    @Test
+    public void testIndependentComponentsRunConcurrently() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        final Map<String, ComponentState> states = new ComponentDependencyGraph()
+                .addComponent("proxy", () -> awaitBoth(latch))
+                .addComponent("bastion", () -> awaitBoth(latch))
+                .execute();
+        Assert.assertEquals(states.get("proxy"), ComponentState.READY);
+        Assert.assertEquals(states.get("bastion"), ComponentState.READY);
+    }
+
+    private static boolean awaitBoth(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Test
+    public void testError() {
+        final ComponentDependencyGraph graph = new ComponentDependencyGraph()
+                .addComponent("zk", () -> {
+                    throw new IllegalStateException("zk failed");
+                })
+                .addComponent("bk", () -> true, "zk");
+        try {
+            graph.execute();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(e.getMessage(), "zk failed");
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownDependency() {
+        new ComponentDependencyGraph()
+                .addComponent("bk", () -> true, "zk");
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers.utils;
+
+import com.datastax.oss.kaap.common.SerializationCache;
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.controllers.broker.BrokerController;
+import com.datastax.oss.kaap.crds.broker.Broker;
+import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import java.util.UUID;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LastAppliedCodecTest {
+
+    @Test
+    public void testRoundTrip() {
+        final BrokerFullSpec spec = newSpec("apachepulsar/pulsar:3.0");
+        final String encoded = LastAppliedCodec.encode(spec);
+        Assert.assertTrue(LastAppliedCodec.isEncoded(encoded));
+        Assert.assertEquals(LastAppliedCodec.decode(encoded, BrokerFullSpec.class), spec);
+        Assert.assertEquals(LastAppliedCodec.encode(spec), encoded);
+        Assert.assertNull(LastAppliedCodec.encode(null));
+        Assert.assertNull(LastAppliedCodec.decode(null, BrokerFullSpec.class));
+    }
+
+    @Test
+    public void testLegacyFormat() {
+        final BrokerFullSpec spec = newSpec("apachepulsar/pulsar:3.0");
+        final String legacy = SerializationUtil.writeAsJson(spec);
+        Assert.assertFalse(LastAppliedCodec.isEncoded(legacy));
+        Assert.assertEquals(LastAppliedCodec.decodeJson(legacy), legacy);
+        Assert.assertEquals(LastAppliedCodec.decode(legacy, BrokerFullSpec.class), spec);
+        Assert.assertFalse(LastAppliedCodec.hasSameContent(legacy, spec));
+    }
+
+    @Test
+    public void testHasSameContent() {
+        final String encoded = LastAppliedCodec.encode(newSpec("apachepulsar/pulsar:3.0"));
+        Assert.assertTrue(LastAppliedCodec.hasSameContent(encoded, newSpec("apachepulsar/pulsar:3.0")));
+        Assert.assertFalse(LastAppliedCodec.hasSameContent(encoded, newSpec("apachepulsar/pulsar:3.1")));
+        Assert.assertFalse(LastAppliedCodec.hasSameContent(null, newSpec("apachepulsar/pulsar:3.0")));
+    }
+
+    @Test
+    public void testSetsAreCompacted() {
+        final BrokerController.BrokerSetsLastApplied setsLastApplied = new BrokerController.BrokerSetsLastApplied();
+        setsLastApplied.setCommon(newSpec("apachepulsar/pulsar:3.0"));
+        for (int i = 0; i < 20; i++) {
+            setsLastApplied.getSets().put("set" + i, newSpec("apachepulsar/pulsar:3.0"));
+        }
+        final String legacy = SerializationUtil.writeAsJson(setsLastApplied);
+        final String encoded = LastAppliedCodec.encode(setsLastApplied);
+        Assert.assertTrue(encoded.length() * 10 < legacy.length(),
+                "encoded " + encoded.length() + " legacy " + legacy.length());
+        Assert.assertEquals(LastAppliedCodec.decode(encoded, BrokerController.BrokerSetsLastApplied.class),
+                setsLastApplied);
+    }
+
+    @Test
+    public void testDecodedTreeIsShared() {
+        final BrokerFullSpec spec = newSpec("apachepulsar/pulsar:3.0");
+        final String encoded = LastAppliedCodec.encode(spec);
+        Assert.assertSame(LastAppliedCodec.decodeTree(encoded), LastAppliedCodec.decodeTree(encoded));
+
+        final BrokerFullSpec decoded = LastAppliedCodec.decode(encoded, BrokerFullSpec.class);
+        Assert.assertNotSame(LastAppliedCodec.decode(encoded, BrokerFullSpec.class), decoded);
+        decoded.getBroker().setReplicas(10);
+        Assert.assertEquals(LastAppliedCodec.decode(encoded, BrokerFullSpec.class), spec);
+    }
+
+    @Test
+    public void testHashMemoizedByGeneration() {
+        final Broker broker = new Broker();
+        broker.setMetadata(new ObjectMetaBuilder()
+                .withUid(UUID.randomUUID().toString())
+                .withGeneration(1L)
+                .build());
+        broker.setSpec(newSpec("apachepulsar/pulsar:3.0"));
+        final String hash = defaultedHash(broker);
+        final String encoded = LastAppliedCodec.encode(broker.getSpec());
+        Assert.assertTrue(LastAppliedCodec.hasSameContentHash(encoded, hash));
+
+        // a spec change always bumps the generation, the hash is not recomputed within the same generation
+        broker.getSpec().getBroker().setReplicas(5);
+        Assert.assertEquals(defaultedHash(broker), hash);
+
+        broker.getMetadata().setGeneration(2L);
+        final String newHash = defaultedHash(broker);
+        Assert.assertNotEquals(newHash, hash);
+        Assert.assertEquals(newHash, SerializationCache.canonicalHash(broker.getSpec()));
+        Assert.assertFalse(LastAppliedCodec.hasSameContentHash(encoded, newHash));
+
+        broker.getMetadata().setUid(null);
+        broker.getSpec().getBroker().setReplicas(6);
+        Assert.assertNotEquals(defaultedHash(broker), newHash);
+    }
+
+    @Test
+    public void testHashMemoizedByVariant() {
+        final Broker broker = new Broker();
+        broker.setMetadata(new ObjectMetaBuilder()
+                .withUid(UUID.randomUUID().toString())
+                .withGeneration(1L)
+                .build());
+        broker.setSpec(newSpec("apachepulsar/pulsar:3.0"));
+        final String rawHash = SerializationCache.canonicalHash(broker, SerializationCache.SPEC_RAW, broker.getSpec());
+
+        // same owner generation and value class, the defaulted spec must not get the raw spec hash
+        broker.getSpec().getBroker().setReplicas(5);
+        Assert.assertNotEquals(defaultedHash(broker), rawHash);
+        Assert.assertEquals(defaultedHash(broker), SerializationCache.canonicalHash(broker.getSpec()));
+    }
+
+    private static String defaultedHash(Broker broker) {
+        return SerializationCache.canonicalHash(broker, SerializationCache.SPEC_DEFAULTED, broker.getSpec());
+    }
+
+    private static BrokerFullSpec newSpec(String image) {
+        final BrokerFullSpec spec = SerializationUtil.readYaml("""
+                global:
+                    name: pul
+                    image: %s
+                broker:
+                    replicas: 3
+                """.formatted(image), BrokerFullSpec.class);
+        spec.getGlobalSpec().applyDefaults(null);
+        spec.applyDefaults(spec.getGlobalSpec());
+        return spec;
+    }
+}
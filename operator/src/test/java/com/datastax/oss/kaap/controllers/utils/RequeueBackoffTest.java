@@ -0,0 +1,71 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers.utils;
+
+import java.util.Set;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class RequeueBackoffTest {
+
+    @Test
+    public void testFailuresBackoff() {
+        final RequeueBackoff backoff = new RequeueBackoff();
+        Assert.assertEquals(backoff.nextDelayMillis("ns/a", true, 5, 30, 0), 5000L);
+        Assert.assertEquals(backoff.nextDelayMillis("ns/a", true, 5, 30, 0), 10000L);
+        Assert.assertEquals(backoff.nextDelayMillis("ns/a", true, 5, 30, 0), 20000L);
+        Assert.assertEquals(backoff.nextDelayMillis("ns/a", true, 5, 30, 0), 30000L);
+        for (int i = 0; i < 100; i++) {
+            backoff.nextDelayMillis("ns/a", true, 5, 30, 0);
+        }
+        Assert.assertEquals(backoff.nextDelayMillis("ns/a", true, 5, 30, 0), 30000L);
+        Assert.assertEquals(backoff.nextDelayMillis("ns/b", true, 5, 30, 0), 5000L);
+
+        // progressing again
+        Assert.assertEquals(backoff.nextDelayMillis("ns/a", false, 5, 30, 0), 5000L);
+        Assert.assertEquals(backoff.getConsecutiveFailures("ns/a"), 0);
+        Assert.assertEquals(backoff.nextDelayMillis("ns/a", true, 5, 30, 0), 5000L);
+
+        backoff.reset("ns/a");
+        Assert.assertEquals(backoff.getConsecutiveFailures("ns/a"), 0);
+    }
+
+    @Test
+    public void testJitter() {
+        final RequeueBackoff backoff = new RequeueBackoff();
+        boolean differentDelays = false;
+        long previous = -1;
+        for (int i = 0; i < 50; i++) {
+            final long delay = backoff.nextDelayMillis("ns/a", false, 10, 300, 0.2);
+            Assert.assertTrue(delay >= 10000L && delay <= 12000L, "delay " + delay);
+            differentDelays |= previous != -1 && previous != delay;
+            previous = delay;
+        }
+        Assert.assertTrue(differentDelays);
+    }
+
+    @Test
+    public void testJitterCapped() {
+        final RequeueBackoff backoff = new RequeueBackoff();
+        for (int i = 0; i < 50; i++) {
+            final long delay = backoff.nextDelayMillis("ns/a", true, 5, 30, 0.5);
+            Assert.assertTrue(delay <= 30000L, "delay " + delay);
+        }
+        Assert.assertEquals(backoff.getKeys(), Set.of("ns/a"));
+        backoff.reset("ns/a");
+        Assert.assertEquals(backoff.getKeys(), Set.of());
+    }
+}
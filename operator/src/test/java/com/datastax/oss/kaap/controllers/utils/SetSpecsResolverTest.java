@@ -0,0 +1,111 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers.utils;
+
+import com.datastax.oss.kaap.common.SerializationCache;
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.controllers.broker.BrokerController;
+import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
+import com.datastax.oss.kaap.crds.broker.Broker;
+import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSpec;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class SetSpecsResolverTest {
+
+    @Test
+    public void testResolveSets() {
+        final BrokerSpec spec = newSpec("""
+                replicas: 3
+                config:
+                    key1: value1
+                sets:
+                    set1:
+                        replicas: 1
+                    set2:
+                        config:
+                            key2: value2
+                """);
+        final BrokerSpec original = SerializationUtil.deepCloneObject(spec);
+
+        final LinkedHashMap<String, BrokerSetSpec> sets = BrokerController.getBrokerSetSpecs(spec);
+        Assert.assertEquals(List.copyOf(sets.keySet()), List.of("set1", "set2"));
+        Assert.assertEquals(sets.get("set1").getReplicas(), 1);
+        Assert.assertEquals(sets.get("set1").getConfig(), Map.of("key1", "value1"));
+        Assert.assertEquals(sets.get("set2").getReplicas(), 3);
+        Assert.assertEquals(sets.get("set2").getConfig(), Map.of("key1", "value1", "key2", "value2"));
+        // the spec is not modified
+        Assert.assertEquals(spec, original);
+        Assert.assertNull(spec.getSets().get("set2").getReplicas());
+    }
+
+    @Test
+    public void testDefaultSet() {
+        final BrokerSpec spec = newSpec("""
+                replicas: 3
+                """);
+        final LinkedHashMap<String, BrokerSetSpec> sets = BrokerController.getBrokerSetSpecs(spec);
+        Assert.assertEquals(List.copyOf(sets.keySet()), List.of(BrokerResourcesFactory.BROKER_DEFAULT_SET));
+        Assert.assertEquals(sets.get(BrokerResourcesFactory.BROKER_DEFAULT_SET).getReplicas(), 3);
+        Assert.assertNotSame(sets.get(BrokerResourcesFactory.BROKER_DEFAULT_SET), spec);
+    }
+
+    @Test
+    public void testCachedByGeneration() {
+        final Broker broker = new Broker();
+        broker.setMetadata(new ObjectMetaBuilder()
+                .withUid(UUID.randomUUID().toString())
+                .withGeneration(1L)
+                .build());
+        final BrokerSpec spec = newSpec("""
+                replicas: 3
+                sets:
+                    set1: {}
+                """);
+        final LinkedHashMap<String, BrokerSetSpec> first = resolve(broker, spec);
+        Assert.assertEquals(first.get("set1").getReplicas(), 3);
+
+        // the cached sets are never handed out
+        first.get("set1").setReplicas(10);
+        final LinkedHashMap<String, BrokerSetSpec> second = resolve(broker, spec);
+        Assert.assertNotSame(second.get("set1"), first.get("set1"));
+        Assert.assertEquals(second.get("set1").getReplicas(), 3);
+
+        // a spec change always bumps the generation
+        spec.setReplicas(4);
+        Assert.assertEquals(resolve(broker, spec).get("set1").getReplicas(), 3);
+        broker.getMetadata().setGeneration(2L);
+        Assert.assertEquals(resolve(broker, spec).get("set1").getReplicas(), 4);
+
+        // without a generation the sets are resolved every time
+        Assert.assertEquals(resolve(null, spec).get("set1").getReplicas(), 4);
+    }
+
+    private static LinkedHashMap<String, BrokerSetSpec> resolve(Broker owner, BrokerSpec spec) {
+        return SetSpecsResolver.resolve(owner, SerializationCache.SPEC_DEFAULTED, spec, BrokerSpec::getSets,
+                BrokerResourcesFactory.BROKER_DEFAULT_SET);
+    }
+
+    private static BrokerSpec newSpec(String yaml) {
+        return SerializationUtil.readYaml(yaml, BrokerSpec.class);
+    }
+}
@@ -15,9 +15,12 @@
  */
 package com.datastax.oss.kaap.controllers.zookeeper;
 
+import com.datastax.oss.kaap.KubernetesResourcesCache;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.controllers.ControllerTestUtil;
+import com.datastax.oss.kaap.controllers.InMemoryResourceCache;
 import com.datastax.oss.kaap.controllers.KubeTestUtil;
+import com.datastax.oss.kaap.controllers.utils.LastAppliedCodec;
 import com.datastax.oss.kaap.crds.BaseComponentStatus;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.zookeeper.ZooKeeper;
@@ -27,6 +30,7 @@ import com.datastax.oss.kaap.mocks.MockResourcesResolver;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.LocalObjectReference;
 import io.fabric8.kubernetes.api.model.NodeAffinity;
 import io.fabric8.kubernetes.api.model.NodeSelectorRequirement;
@@ -47,12 +51,15 @@ import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.batch.v1.Job;
 import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudget;
 import io.fabric8.kubernetes.api.model.storage.StorageClass;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.SneakyThrows;
 import lombok.extern.jbosslog.JBossLog;
+import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -751,7 +758,7 @@ public class ZooKeeperControllerTest {
                 1
         );
 
-        final ZooKeeperFullSpec lastApplied = SerializationUtil.readJson(zooKeeperUpdateControl
+        final ZooKeeperFullSpec lastApplied = LastAppliedCodec.decode(zooKeeperUpdateControl
                 .getResource().get().getStatus().getLastApplied(), ZooKeeperFullSpec.class);
         Assert.assertTrue(lastApplied.getZookeeper().getEnv().isEmpty());
     }
@@ -865,7 +872,7 @@ public class ZooKeeperControllerTest {
                 1
         );
 
-        final ZooKeeperFullSpec lastApplied = SerializationUtil.readJson(zooKeeperUpdateControl
+        final ZooKeeperFullSpec lastApplied = LastAppliedCodec.decode(zooKeeperUpdateControl
                 .getResource().get().getStatus().getLastApplied(), ZooKeeperFullSpec.class);
         Assert.assertTrue(lastApplied.getZookeeper().getSidecars().isEmpty());
     }
@@ -1801,6 +1808,63 @@ public class ZooKeeperControllerTest {
     }
 
 
+    @Test
+    public void testResourcesCache() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                """;
+        final Map<Class<? extends HasMetadata>, InMemoryResourceCache<HasMetadata>> eventSourceCaches =
+                new HashMap<>();
+        for (Class<? extends HasMetadata> resourceClass : KubernetesResourcesCache.CACHED_RESOURCES) {
+            eventSourceCaches.put(resourceClass, new InMemoryResourceCache<>());
+        }
+
+        MockKubernetesClient client = invokeControllerWithResourcesCache(spec, eventSourceCaches);
+        // nothing cached yet, every resource has been read from the API server and created
+        final List<HasMetadata> created = new ArrayList<>();
+        for (Class<? extends HasMetadata> resourceClass : List.of(ConfigMap.class, Service.class,
+                PodDisruptionBudget.class, StatefulSet.class)) {
+            final List<? extends MockKubernetesClient.ResourceInteraction<? extends HasMetadata>> resources =
+                    client.getCreatedResources(resourceClass);
+            Assert.assertFalse(resources.isEmpty());
+            for (MockKubernetesClient.ResourceInteraction<? extends HasMetadata> resource : resources) {
+                created.add(resource.getResource());
+                eventSourceCaches.get(resourceClass).add(resource.getResource());
+            }
+        }
+
+        // the event sources have now seen the resources, the desired state is unchanged so nothing is written
+        client = invokeControllerWithResourcesCache(spec, eventSourceCaches);
+        for (HasMetadata resource : created) {
+            Assert.assertTrue(client.getCreatedResources(resource.getClass()).isEmpty(),
+                    resource.getKind() + " " + resource.getMetadata().getName() + " has been written again");
+        }
+    }
+
+    @SneakyThrows
+    private MockKubernetesClient invokeControllerWithResourcesCache(
+            String spec, Map<Class<? extends HasMetadata>, InMemoryResourceCache<HasMetadata>> eventSourceCaches) {
+        final MockKubernetesClient client = new MockKubernetesClient(NAMESPACE);
+        Mockito.when(client.getClient().getKubernetesSerialization()).thenReturn(new KubernetesSerialization());
+        final KubernetesResourcesCache resourcesCache = new KubernetesResourcesCache(client.getClient(), true);
+        eventSourceCaches.forEach((resourceClass, cache) -> registerEventSourceCache(resourcesCache,
+                resourceClass, cache));
+        new ControllerTestUtil<ZooKeeperFullSpec, ZooKeeper>(NAMESPACE, CLUSTER_NAME)
+                .withResourcesCache(resourcesCache)
+                .invokeController(client, spec, ZooKeeper.class, ZooKeeperFullSpec.class,
+                        ZooKeeperController.class);
+        return client;
+    }
+
+    private static <R extends HasMetadata> void registerEventSourceCache(KubernetesResourcesCache resourcesCache,
+                                                                         Class<R> resourceClass,
+                                                                         InMemoryResourceCache<?> cache) {
+        resourcesCache.registerEventSourceCache(resourceClass, (InMemoryResourceCache<R>) cache);
+    }
+
     @SneakyThrows
     private void invokeControllerAndAssertError(String spec, String expectedErrorMessage) {
         new ControllerTestUtil<ZooKeeperFullSpec, ZooKeeper>(NAMESPACE, CLUSTER_NAME)
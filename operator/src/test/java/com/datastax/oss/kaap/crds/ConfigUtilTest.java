@@ -18,6 +18,8 @@ package com.datastax.oss.kaap.crds;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
 import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -57,4 +59,48 @@ public class ConfigUtilTest {
                         """);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testDefaults() {
+        final BrokerFullSpec defaults = SerializationUtil.readYaml("""
+                broker:
+                    replicas: 3
+                    config:
+                        key1: default1
+                        key2: default2
+                    tolerations:
+                        - key: dedicated
+                          operator: Exists
+                    nodeAffinity:
+                        requiredDuringSchedulingIgnoredDuringExecution:
+                            nodeSelectorTerms:
+                                - matchExpressions:
+                                    - key: nodepool
+                                      operator: In
+                """, BrokerFullSpec.class);
+        final BrokerSetSpec set = SerializationUtil.readYaml("""
+                replicas: 1
+                config:
+                    key2: value2
+                tolerations: []
+                nodeAffinity:
+                    requiredDuringSchedulingIgnoredDuringExecution: {}
+                """, BrokerSetSpec.class);
+        final AtomicInteger calls = new AtomicInteger();
+        final BrokerSetSpec res = ConfigUtil.applyDefaultsWithReflection(set, () -> {
+            calls.incrementAndGet();
+            return defaults.getBroker();
+        });
+        Assert.assertSame(res, set);
+        Assert.assertEquals(calls.get(), 1);
+        Assert.assertEquals(res.getReplicas(), 1);
+        Assert.assertEquals(res.getConfig(), Map.of("key1", "default1", "key2", "value2"));
+        Assert.assertEquals(res.getTolerations(), defaults.getBroker().getTolerations());
+        Assert.assertEquals(res.getNodeAffinity(), defaults.getBroker().getNodeAffinity());
+
+        final BrokerSetSpec fromNull = ConfigUtil.applyDefaultsWithReflection(null, () -> defaults.getBroker());
+        Assert.assertEquals(fromNull.getReplicas(), 3);
+        Assert.assertEquals(fromNull.getConfig(), defaults.getBroker().getConfig());
+        Assert.assertNull(ConfigUtil.applyDefaultsWithReflection(null, () -> null));
+    }
+
+}
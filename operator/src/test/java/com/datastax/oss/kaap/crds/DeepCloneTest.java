@@ -0,0 +1,156 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.crds;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.crds.autorecovery.AutorecoveryFullSpec;
+import com.datastax.oss.kaap.crds.bastion.BastionFullSpec;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperFullSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.crds.function.FunctionsWorkerFullSpec;
+import com.datastax.oss.kaap.crds.proxy.ProxyFullSpec;
+import com.datastax.oss.kaap.crds.zookeeper.ZooKeeperFullSpec;
+import java.util.List;
+import java.util.Map;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class DeepCloneTest {
+
+    private static final String CLUSTER = """
+            global:
+                name: pul
+                image: apachepulsar/pulsar:3.0
+                auth:
+                    enabled: true
+                tls:
+                    enabled: true
+                    broker:
+                        enabled: true
+                        secretName: broker-tls
+            zookeeper:
+                replicas: 5
+                config:
+                    tickTime: 2000
+                    nested:
+                        list: [1, 2.5, "three", true]
+                resources:
+                    requests:
+                        cpu: 500m
+                        memory: 1Gi
+                tolerations:
+                    - key: dedicated
+                      operator: Equal
+                      value: zk
+                      effect: NoSchedule
+            bookkeeper:
+                config:
+                    journalMaxSizeMB: 2048
+                    ratio: 0.75
+                sets:
+                    set1:
+                        replicas: 2
+                    set2:
+                        replicas: 3
+                        env:
+                            - name: MY_ENV
+                              value: my-value
+            broker:
+                config:
+                    managedLedgerDefaultEnsembleSize: 2
+                    empty: null
+                sets:
+                    set1:
+                        replicas: 1
+                        podAnnotations:
+                            annotation: value
+                    set2:
+                        autoscaler:
+                            enabled: true
+                            lowerCpuThreshold: 0.3
+                            higherCpuThreshold: 0.8
+            proxy:
+                sets:
+                    set1:
+                        replicas: 2
+                    set2: {}
+            autorecovery:
+                replicas: 1
+            bastion:
+                replicas: 1
+            functionsWorker:
+                replicas: 2
+                config:
+                    numFunctionPackageReplicas: 2
+            """;
+
+    @DataProvider(name = "fullSpecs")
+    public static Object[][] fullSpecs() {
+        final PulsarClusterSpec cluster = SerializationUtil.readYaml(CLUSTER, PulsarClusterSpec.class);
+        cluster.getGlobal().applyDefaults(null);
+        cluster.applyDefaults(cluster.getGlobal());
+        final GlobalSpec global = cluster.getGlobal();
+        final List<Object> specs = List.of(
+                cluster,
+                new ZooKeeperFullSpec(global, cluster.getZookeeper()),
+                new BookKeeperFullSpec(global, cluster.getBookkeeper()),
+                new BrokerFullSpec(global, cluster.getBroker()),
+                new ProxyFullSpec(global, cluster.getProxy()),
+                new AutorecoveryFullSpec(global, cluster.getAutorecovery()),
+                new BastionFullSpec(global, cluster.getBastion()),
+                new FunctionsWorkerFullSpec(global, cluster.getFunctionsWorker())
+        );
+        return specs.stream()
+                .map(spec -> new Object[]{spec})
+                .toArray(Object[][]::new);
+    }
+
+    @Test(dataProvider = "fullSpecs")
+    public void testCloneFullSpec(Object spec) {
+        final Object cloned = SerializationUtil.deepCloneObject(spec);
+        Assert.assertNotSame(cloned, spec);
+        Assert.assertEquals(cloned.getClass(), spec.getClass());
+        Assert.assertEquals(cloned, spec);
+        // same result of the JSON round-trip
+        Assert.assertEquals(cloned, SerializationUtil.readJson(SerializationUtil.writeAsJson(spec), spec.getClass()));
+        Assert.assertEquals(SerializationUtil.writeAsJson(cloned), SerializationUtil.writeAsJson(spec));
+    }
+
+    @Test
+    public void testCloneIsIndependent() {
+        final PulsarClusterSpec cluster = (PulsarClusterSpec) fullSpecs()[0][0];
+        final PulsarClusterSpec cloned = SerializationUtil.deepCloneObject(cluster);
+        Assert.assertNotSame(cloned.getBroker(), cluster.getBroker());
+        Assert.assertNotSame(cloned.getBroker().getSets(), cluster.getBroker().getSets());
+        Assert.assertNotSame(cloned.getZookeeper().getConfig(), cluster.getZookeeper().getConfig());
+
+        cloned.getBroker().getSets().get("set1").setReplicas(10);
+        ((Map<String, Object>) cloned.getZookeeper().getConfig().get("nested")).put("list", List.of());
+        cloned.getBookkeeper().getSets().get("set2").getEnv().get(0).setValue("changed");
+
+        Assert.assertEquals(cluster.getBroker().getSets().get("set1").getReplicas(), 1);
+        Assert.assertEquals(((Map<String, Object>) cluster.getZookeeper().getConfig().get("nested")).get("list"),
+                List.of(1, 2.5, "three", true));
+        Assert.assertEquals(cluster.getBookkeeper().getSets().get("set2").getEnv().get(0).getValue(), "my-value");
+    }
+
+    @Test
+    public void testCloneNull() {
+        Assert.assertNull(SerializationUtil.deepCloneObject(null));
+    }
+}
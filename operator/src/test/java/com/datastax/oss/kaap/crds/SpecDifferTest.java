@@ -15,9 +15,15 @@
  */
 package com.datastax.oss.kaap.crds;
 
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.common.json.JSONAssertComparator;
 import com.datastax.oss.kaap.common.json.JSONComparator;
+import com.datastax.oss.kaap.common.json.JsonTreeComparator;
+import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
 import com.datastax.oss.kaap.crds.configs.RackConfig;
+import java.util.List;
 import java.util.Map;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 public class SpecDifferTest {
@@ -40,6 +46,96 @@ public class SpecDifferTest {
         assertDiffs(null, Map.of());
     }
 
+    @Test
+    public void testSameResultOfJSONAssert() {
+        final List<String> documents = List.of(
+                "{}",
+                "{\"a\": 1}",
+                "{\"a\": 1.0}",
+                "{\"a\": 2}",
+                "{\"a\": \"1\"}",
+                "{\"a\": null}",
+                "{\"a\": true}",
+                "{\"a\": {\"b\": {\"c\": \"x\", \"d\": [1, 2]}}}",
+                "{\"a\": {\"b\": {\"c\": \"y\", \"d\": [1, 3]}}}",
+                "{\"a\": {\"b\": {\"d\": [1, 2, 3]}, \"e\": \"z\"}}",
+                "{\"a\": [{\"x\": 1}, {\"y\": [\"s\"]}]}",
+                "{\"a\": [{\"x\": 2}, {\"y\": []}]}",
+                "{\"data\": {\"broker.conf\": \"v1\", \"key\": {\"nested\": 1}}}",
+                "{\"data\": {\"broker.conf\": \"v2\"}}",
+                "[1, {\"a\": 1}]",
+                "[1, {\"a\": 2}]"
+        );
+        final JSONAssertComparator jsonAssert = new JSONAssertComparator();
+        final JsonTreeComparator jsonTree = new JsonTreeComparator();
+        for (String expected : documents) {
+            for (String actual : documents) {
+                if (expected.startsWith("[") != actual.startsWith("[")) {
+                    continue;
+                }
+                final JSONComparator.Result expectedResult = jsonAssert.compare(expected, actual);
+                final JSONComparator.Result result = jsonTree.compare(expected, actual);
+                final String message = "comparing " + expected + " with " + actual;
+                Assert.assertEquals(result.areEquals(), expectedResult.areEquals(), message);
+                if (expected.contains("null") != actual.contains("null") || expected.startsWith("[")) {
+                    // JSONAssertComparator fails to report a null field that has been added or removed
+                    // and the diffs of root arrays
+                    Assert.assertEquals(result.diffs().isEmpty(), expectedResult.areEquals(), message);
+                } else {
+                    Assert.assertEquals(result.diffs(), expectedResult.diffs(), message);
+                }
+                // the early exit must agree with the full comparison
+                Assert.assertEquals(jsonTree.compare(expected, actual).areEquals(), result.diffs().isEmpty(), message);
+            }
+        }
+    }
+
+    @Test
+    public void testNumbers() {
+        final JsonTreeComparator jsonTree = new JsonTreeComparator();
+        Assert.assertTrue(jsonTree.compare("{\"a\": 1}", "{\"a\": 1.0}").areEquals());
+        Assert.assertFalse(jsonTree.compare("{\"a\": 1}", "{\"a\": 10000000000}").areEquals());
+        Assert.assertTrue(jsonTree.compare("{\"a\": 10000000000}", "{\"a\": 1.0E10}").areEquals());
+        // above 2^53 the doubles can't tell the two values apart
+        Assert.assertFalse(jsonTree.compare("{\"a\": 9007199254740993}", "{\"a\": 9007199254740992}")
+                .areEquals());
+        Assert.assertFalse(jsonTree.compare("{\"a\": 9223372036854775807}", "{\"a\": 9223372036854775808}")
+                .areEquals());
+    }
+
+    @Test
+    public void testFullSpecDiff() {
+        final BrokerFullSpec spec1 = SerializationUtil.readYaml("""
+                global:
+                    name: pul
+                    image: apachepulsar/pulsar:3.0
+                broker:
+                    replicas: 3
+                    config:
+                        managedLedgerDefaultEnsembleSize: 2
+                """, BrokerFullSpec.class);
+        spec1.getGlobalSpec().applyDefaults(null);
+        spec1.applyDefaults(spec1.getGlobalSpec());
+        final BrokerFullSpec spec2 = SerializationUtil.deepCloneObject(spec1);
+        assertNoDiffs(spec1, spec2);
+        Assert.assertTrue(SpecDiffer.generateDiff(spec1, SerializationUtil.writeAsJson(spec2)).areEquals());
+
+        spec2.getBroker().setReplicas(4);
+        spec2.getBroker().getConfig().remove("managedLedgerDefaultEnsembleSize");
+        Assert.assertEquals(new JsonTreeComparator().compare("[1, {\"a\": 1}]", "[1, {\"a\": 2}]").diffs(),
+                List.of(new JSONComparator.FieldComparisonDiff("[1].a", "1", "2")));
+
+        final JSONComparator.Result result = SpecDiffer.generateDiff(spec1, spec2);
+        Assert.assertFalse(result.areEquals());
+        Assert.assertEquals(result.diffs(), new JSONAssertComparator()
+                .compare(SerializationUtil.writeAsJson(spec1), SerializationUtil.writeAsJson(spec2)).diffs());
+        Assert.assertEquals(result.diffs(), List.of(
+                new JSONComparator.FieldComparisonDiff("broker.replicas", "3", "4"),
+                new JSONComparator.FieldComparisonDiff("broker.config.\"managedLedgerDefaultEnsembleSize\"",
+                        "2", null)
+        ));
+    }
+
     private static void assertNoDiffs(Object spec1, Object spec2) {
         final JSONComparator.Result result = SpecDiffer.generateDiff(spec1, spec2);
         if (!result.areEquals()) {